@@ -0,0 +1,3 @@
+#!/bin/sh
+# Runs once, when the primary's data directory is created
+echo "host replication all all scram-sha-256" >> "$PGDATA/pg_hba.conf"
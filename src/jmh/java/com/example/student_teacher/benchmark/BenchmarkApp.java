@@ -0,0 +1,78 @@
+package com.example.student_teacher.benchmark;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.example.student_teacher.StudentTeacherApplication;
+import com.example.student_teacher.dto.Account;
+import com.example.student_teacher.entity.Role;
+import com.example.student_teacher.integration.BulkSeed;
+import com.example.student_teacher.integration.BulkSeed.Volumes;
+import com.example.student_teacher.security.AccountPrincipal;
+
+/**
+ * The application on an in-memory H2 database, seeded by {@link BulkSeed} with a university-sized
+ * catalog: 20 depts, 200 teachers, 2,000 courses (50 of them electives) and 20,000 students with
+ * 6 enrollments each. One context per fork, shared by every benchmark method in it.
+ */
+@State(Scope.Benchmark)
+public class BenchmarkApp {
+
+    static final Volumes VOLUMES = new Volumes(20, 200, 2_000, 50, 20_000, 6);
+
+    ConfigurableApplicationContext context;
+    private String passwordHash;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = new SpringApplicationBuilder(StudentTeacherApplication.class)
+                .web(WebApplicationType.SERVLET)
+                .profiles("test")
+                .properties(
+                        "server.port=0",
+                        "spring.datasource.url=jdbc:h2:mem:jmh",
+                        "spring.jpa.show-sql=false",
+                        "spring.jpa.properties.hibernate.generate_statistics=false",
+                        // No seat reconcile landing in the middle of a measurement
+                        "app.stats.reconcile-cron=-",
+                        "logging.level.root=WARN")
+                .run();
+        passwordHash = context.getBean(PasswordEncoder.class).encode("password123");
+        BulkSeed.seed(context, VOLUMES, passwordHash);
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    long randomStudentId() {
+        return VOLUMES.studentId(ThreadLocalRandom.current().nextInt(VOLUMES.students()));
+    }
+
+    long randomElectiveId() {
+        return VOLUMES.electiveId(ThreadLocalRandom.current().nextInt(VOLUMES.electives()));
+    }
+
+    // What the form login leaves in the security context for this student
+    Authentication login(long studentId) {
+        AccountPrincipal principal = new AccountPrincipal(
+                new Account(studentId, BulkSeed.email(studentId), passwordHash, Role.STUDENT));
+        return UsernamePasswordAuthenticationToken.authenticated(principal, null, principal.getAuthorities());
+    }
+}
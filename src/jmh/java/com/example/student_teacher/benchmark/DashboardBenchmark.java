@@ -0,0 +1,24 @@
+package com.example.student_teacher.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.springframework.ui.ExtendedModelMap;
+
+import com.example.student_teacher.controller.WebController;
+
+// The student dashboard's model: the student's courses plus the cached catalog rows, without rendering
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class DashboardBenchmark {
+
+    @Benchmark
+    public ExtendedModelMap studentDashboardModel(BenchmarkApp app) {
+        ExtendedModelMap model = new ExtendedModelMap();
+        app.bean(WebController.class).studentDashboard(app.login(app.randomStudentId()), model);
+        return model;
+    }
+}
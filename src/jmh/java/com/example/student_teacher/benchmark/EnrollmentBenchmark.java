@@ -0,0 +1,29 @@
+package com.example.student_teacher.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.security.core.Authentication;
+
+import com.example.student_teacher.controller.StudentController;
+
+// One enroll and the matching drop through StudentController, so the data stays as seeded
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EnrollmentBenchmark {
+
+    @Benchmark
+    public void enrollThenDrop(BenchmarkApp app, Blackhole blackhole) {
+        StudentController controller = app.bean(StudentController.class);
+        long studentId = app.randomStudentId();
+        long courseId = app.randomElectiveId();
+        Authentication auth = app.login(studentId);
+
+        blackhole.consume(controller.takeCourse(courseId, auth));
+        blackhole.consume(controller.removeCourse(courseId, auth));
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.student_teacher.benchmark;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import com.example.student_teacher.entity.Course;
+import com.example.student_teacher.entity.Student;
+import com.example.student_teacher.repository.CourseRepository;
+import com.example.student_teacher.repository.StudentRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+// Serializing loaded entity graphs with the application's ObjectMapper; no database work is timed
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class JsonBenchmark {
+
+    private ObjectMapper objectMapper;
+    private Student student;
+    private List<Course> courses;
+
+    @Setup(Level.Trial)
+    public void load(BenchmarkApp app) {
+        objectMapper = app.bean(ObjectMapper.class);
+        student = app.bean(StudentRepository.class).findWithCoursesById(app.randomStudentId()).orElseThrow();
+        courses = app.bean(CourseRepository.class).findAll(PageRequest.of(0, 100, Sort.by("id"))).getContent();
+    }
+
+    // A student with dept and six courses, each with its teacher and dept
+    @Benchmark
+    public String studentGraph() throws JsonProcessingException {
+        return objectMapper.writeValueAsString(student);
+    }
+
+    // A catalog page of 100 courses
+    @Benchmark
+    public String coursePage() throws JsonProcessingException {
+        return objectMapper.writeValueAsString(courses);
+    }
+}
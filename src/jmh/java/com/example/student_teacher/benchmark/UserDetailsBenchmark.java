@@ -0,0 +1,24 @@
+package com.example.student_teacher.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import com.example.student_teacher.integration.BulkSeed;
+import com.example.student_teacher.security.CustomUserDetailsService;
+
+// The account lookup behind every form login; the BCrypt check that follows it is not included
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class UserDetailsBenchmark {
+
+    @Benchmark
+    public UserDetails loadUserByUsername(BenchmarkApp app) {
+        return app.bean(CustomUserDetailsService.class)
+                .loadUserByUsername(BulkSeed.email(app.randomStudentId()));
+    }
+}
@@ -0,0 +1,163 @@
+package com.example.student_teacher.config;
+
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.hibernate.action.spi.AfterTransactionCompletionProcess;
+import org.hibernate.action.spi.BeforeTransactionCompletionProcess;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.event.service.spi.EventListenerRegistry;
+import org.hibernate.event.spi.EventType;
+import org.hibernate.event.spi.PostCommitDeleteEventListener;
+import org.hibernate.event.spi.PostCommitInsertEventListener;
+import org.hibernate.event.spi.PostCommitUpdateEventListener;
+import org.hibernate.event.spi.PostDeleteEvent;
+import org.hibernate.event.spi.PostDeleteEventListener;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.hibernate.event.spi.PostInsertEventListener;
+import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.event.spi.PostUpdateEventListener;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import com.example.student_teacher.entity.Course;
+import com.example.student_teacher.entity.Dept;
+import com.example.student_teacher.entity.Teacher;
+import com.example.student_teacher.service.CatalogChangedEvent;
+import com.example.student_teacher.service.CatalogChangedEvent.Change;
+import com.example.student_teacher.service.CatalogVersions;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Turns Hibernate's post-commit entity events for the catalog tables into {@link CatalogChangedEvent}s.
+ * Firing only after commit means nobody can observe a new version before its data is visible.
+ * Inside the writing transaction it also bumps the written tables' {@link CatalogVersions} rows, so
+ * other instances, which never see these events, see the change by its version.
+ * Bulk JPQL/native statements bypass these events, so catalog rows are written through entities.
+ */
+@Component
+public class CatalogChangeListener implements PostCommitInsertEventListener, PostCommitUpdateEventListener,
+        PostCommitDeleteEventListener, SmartInitializingSingleton {
+
+    private static final Set<Class<?>> CATALOG_TYPES = Set.of(Course.class, Teacher.class, Dept.class);
+    private static final String BUMP = "update catalog_version set version = version + 1 where name = :name";
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final ApplicationEventPublisher publisher;
+    // Tables written by each session's open transaction, bumped once each when it commits
+    private final Map<SessionImplementor, Set<Class<?>>> written = new ConcurrentHashMap<>();
+
+    public CatalogChangeListener(EntityManagerFactory entityManagerFactory, ApplicationEventPublisher publisher) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.publisher = publisher;
+    }
+
+    // Registered once every other singleton exists, so the background JPA bootstrap overlaps with
+    // the rest of startup instead of being waited on as soon as this bean is created
+    @Override
+    public void afterSingletonsInstantiated() {
+        EventListenerRegistry registry = entityManagerFactory.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry().getService(EventListenerRegistry.class);
+        registry.appendListeners(EventType.POST_COMMIT_INSERT, this);
+        registry.appendListeners(EventType.POST_COMMIT_UPDATE, this);
+        registry.appendListeners(EventType.POST_COMMIT_DELETE, this);
+        VersionBump bump = new VersionBump();
+        registry.appendListeners(EventType.POST_INSERT, bump);
+        registry.appendListeners(EventType.POST_UPDATE, bump);
+        registry.appendListeners(EventType.POST_DELETE, bump);
+    }
+
+    @Override
+    public boolean requiresPostCommitHandling(EntityPersister persister) {
+        return CATALOG_TYPES.contains(persister.getMappedClass());
+    }
+
+    @Override
+    public void onPostInsert(PostInsertEvent event) {
+        publish(Change.INSERT, event.getPersister(), event.getId(), event.getEntity());
+    }
+
+    @Override
+    public void onPostUpdate(PostUpdateEvent event) {
+        publish(Change.UPDATE, event.getPersister(), event.getId(), event.getEntity());
+    }
+
+    @Override
+    public void onPostDelete(PostDeleteEvent event) {
+        publish(Change.DELETE, event.getPersister(), event.getId(), event.getEntity());
+    }
+
+    // The transaction rolled back, so there is nothing to announce
+    @Override
+    public void onPostInsertCommitFailed(PostInsertEvent event) {
+    }
+
+    @Override
+    public void onPostUpdateCommitFailed(PostUpdateEvent event) {
+    }
+
+    @Override
+    public void onPostDeleteCommitFailed(PostDeleteEvent event) {
+    }
+
+    private void publish(Change change, EntityPersister persister, Object id, Object entity) {
+        Class<?> type = persister.getMappedClass();
+        if (CATALOG_TYPES.contains(type)) {
+            publisher.publishEvent(new CatalogChangedEvent(change, type, id, entity));
+        }
+    }
+
+    // Runs as the flush writes the row. The bumps wait until just before commit, after the last
+    // flush, and go in name order so that two transactions writing the same tables cannot deadlock.
+    private void written(SessionImplementor session, EntityPersister persister) {
+        Class<?> type = persister.getMappedClass();
+        if (!CATALOG_TYPES.contains(type)) {
+            return;
+        }
+        written.computeIfAbsent(session, s -> {
+            s.getActionQueue().registerProcess((BeforeTransactionCompletionProcess) this::bumpVersions);
+            s.getActionQueue().registerProcess((AfterTransactionCompletionProcess) (success, t) -> written.remove(s));
+            return new TreeSet<>(Comparator.comparing(CatalogVersions::name));
+        }).add(type);
+    }
+
+    private void bumpVersions(SessionImplementor session) {
+        for (Class<?> type : written.getOrDefault(session, Set.of())) {
+            session.createNativeQuery(BUMP)
+                    .setParameter("name", CatalogVersions.name(type))
+                    // Without it Hibernate would treat the statement as touching every cached table
+                    .addSynchronizedQuerySpace("catalog_version")
+                    .executeUpdate();
+        }
+    }
+
+    private class VersionBump implements PostInsertEventListener, PostUpdateEventListener, PostDeleteEventListener {
+
+        @Override
+        public boolean requiresPostCommitHandling(EntityPersister persister) {
+            return false;
+        }
+
+        @Override
+        public void onPostInsert(PostInsertEvent event) {
+            written(event.getSession(), event.getPersister());
+        }
+
+        @Override
+        public void onPostUpdate(PostUpdateEvent event) {
+            written(event.getSession(), event.getPersister());
+        }
+
+        @Override
+        public void onPostDelete(PostDeleteEvent event) {
+            written(event.getSession(), event.getPersister());
+        }
+    }
+}
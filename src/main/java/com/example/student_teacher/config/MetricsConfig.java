@@ -0,0 +1,40 @@
+package com.example.student_teacher.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.example.student_teacher.security.BoundedPasswordEncoder;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+@Configuration
+public class MetricsConfig {
+
+    // Saturation of the login hashing pool: busy threads, waiting checks and logins turned away
+    @Bean
+    public MeterBinder passwordHashingMetrics(BoundedPasswordEncoder passwordEncoder) {
+        return registry -> {
+            Gauge.builder("app.password.hashing.active", passwordEncoder, BoundedPasswordEncoder::activeCount)
+                    .register(registry);
+            Gauge.builder("app.password.hashing.queued", passwordEncoder, BoundedPasswordEncoder::queueDepth)
+                    .register(registry);
+            FunctionCounter.builder("app.password.hashing.rejected", passwordEncoder,
+                    BoundedPasswordEncoder::rejectedCount).register(registry);
+        };
+    }
+
+    // Replica pools report as hikaricp.* under their pool names, like the primary's
+    @Bean
+    public MeterBinder readReplicaMetrics(ReadReplicas readReplicas) {
+        return registry -> {
+            readReplicas.pools().stream()
+                    .filter(pool -> pool.getMetricRegistry() == null)
+                    .forEach(pool -> pool.setMetricRegistry(registry));
+            if (readReplicas.isEnabled()) {
+                Gauge.builder("app.db.replicas.healthy", readReplicas, ReadReplicas::healthyCount).register(registry);
+            }
+        };
+    }
+}
@@ -0,0 +1,234 @@
+package com.example.student_teacher.config;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import javax.sql.DataSource;
+
+import org.hibernate.jpa.SpecHints;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+
+import jakarta.persistence.CacheStoreMode;
+
+/**
+ * Connection pools for the read replicas in app.datasource.replicas, and the choice of where a
+ * read-only transaction's connection comes from (see {@link ReplicaRoutingConfig}). Replicas are
+ * used round-robin while their health check passes; with none healthy, reads go to the primary.
+ * The check only asks whether a replica accepts connections, not how far behind it is: there is no
+ * bound on replication lag here, which is up to the database's own monitoring.
+ * A user whose own write committed within app.datasource.read-your-writes-ms also reads from the
+ * primary, so a page shown right after an update never comes from a replica that is behind.
+ * Other users may see a replica's older rows, but nothing read from one is kept for anyone else:
+ * sessions that may use a replica never fill the second-level cache, and results that are shared
+ * beyond the request (ETags, rendered fragments, the search index) are read {@link #fromPrimary}.
+ */
+@Component
+public class ReadReplicas implements TransactionExecutionListener, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(ReadReplicas.class);
+    private static final ThreadLocal<Boolean> PRIMARY_READS = new ThreadLocal<>();
+
+    private final List<Replica> replicas = new ArrayList<>();
+    private final long readYourWritesNanos;
+    private final AtomicInteger next = new AtomicInteger();
+    // User name -> System.nanoTime() until which that user reads from the primary
+    private final Map<String, Long> recentWriters = new ConcurrentHashMap<>();
+
+    public ReadReplicas(@Value("${app.datasource.replicas:}") List<String> urls,
+            @Value("${spring.datasource.username:}") String username,
+            @Value("${spring.datasource.password:}") String password,
+            @Value("${app.datasource.replica-pool-size:10}") int poolSize,
+            @Value("${app.datasource.replica-timeout-ms:1000}") long timeoutMillis,
+            @Value("${app.datasource.read-your-writes-ms:5000}") long readYourWritesMillis) {
+        this.readYourWritesNanos = TimeUnit.MILLISECONDS.toNanos(readYourWritesMillis);
+        for (String url : urls) {
+            if (url.isBlank()) {
+                continue;
+            }
+            HikariConfig config = new HikariConfig();
+            config.setPoolName("replica-" + (replicas.size() + 1));
+            config.setJdbcUrl(url.trim());
+            config.setUsername(username);
+            config.setPassword(password);
+            config.setMaximumPoolSize(poolSize);
+            config.setReadOnly(true);
+            // A replica that is down must not stop startup or hold a read up for long
+            config.setInitializationFailTimeout(-1);
+            config.setConnectionTimeout(timeoutMillis);
+            config.setValidationTimeout(Math.min(timeoutMillis, 1000));
+            replicas.add(new Replica(new HikariDataSource(config)));
+        }
+    }
+
+    public boolean isEnabled() {
+        return !replicas.isEmpty();
+    }
+
+    public List<HikariDataSource> pools() {
+        return replicas.stream().map(replica -> replica.pool).toList();
+    }
+
+    public int healthyCount() {
+        return (int) replicas.stream().filter(replica -> replica.healthy).count();
+    }
+
+    /** The data source read-only transactions take their connection from, falling back to {@code primary}. */
+    public DataSource routing(DataSource primary) {
+        return new AbstractDataSource() {
+            @Override
+            public Connection getConnection() throws SQLException {
+                return readConnection(primary);
+            }
+
+            @Override
+            public Connection getConnection(String username, String password) throws SQLException {
+                return readConnection(primary);
+            }
+        };
+    }
+
+    /**
+     * Runs {@code reads} with read-only transactions on the primary. For results that are kept and
+     * served to other users, which from a replica that is behind would outlive the write they miss,
+     * and for entities loaded to be modified and saved, which would write back the replica's lag.
+     */
+    public static <T> T fromPrimary(Supplier<T> reads) {
+        if (PRIMARY_READS.get() != null) {
+            return reads.get();
+        }
+        PRIMARY_READS.set(Boolean.TRUE);
+        try {
+            return reads.get();
+        } finally {
+            PRIMARY_READS.remove();
+        }
+    }
+
+    private Connection readConnection(DataSource primary) throws SQLException {
+        if (PRIMARY_READS.get() != null || wroteRecently(currentUser())) {
+            return primary.getConnection();
+        }
+        int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((start + i) % replicas.size());
+            if (!replica.healthy) {
+                continue;
+            }
+            try {
+                return replica.pool.getConnection();
+            } catch (SQLException | RuntimeException e) {
+                if (!poolExhausted(e)) {
+                    // Out of rotation until the next health check finds it reachable again
+                    markHealthy(replica, false, e);
+                }
+            }
+        }
+        return primary.getConnection();
+    }
+
+    // Hikari's timeout when every connection is busy; one for an unreachable database carries the
+    // failure to connect as its cause. A busy replica stays in rotation and this read goes elsewhere.
+    private static boolean poolExhausted(Exception e) {
+        return e instanceof SQLTransientConnectionException && e.getCause() == null;
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.replica-check-ms:5000}")
+    public void checkHealth() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.pool.getConnection()) {
+                markHealthy(replica, connection.isValid(1), null);
+            } catch (SQLException | RuntimeException e) {
+                markHealthy(replica, false, e);
+            }
+        }
+        long now = System.nanoTime();
+        recentWriters.values().removeIf(until -> until - now < 0);
+    }
+
+    private void markHealthy(Replica replica, boolean healthy, Exception failure) {
+        if (replica.healthy != healthy) {
+            if (healthy) {
+                log.info("Read replica {} is back in rotation", replica.pool.getPoolName());
+            } else {
+                log.warn("Read replica {} taken out of rotation: {}", replica.pool.getPoolName(),
+                        failure != null ? failure.getMessage() : "connection not valid");
+            }
+        }
+        replica.healthy = healthy;
+    }
+
+    // A session that may read from a replica still reads the second-level cache but never puts into
+    // it, or rows from before the latest write would be served to everyone from there
+    @Override
+    public void afterBegin(TransactionExecution transaction, Throwable beginFailure) {
+        if (beginFailure == null && isEnabled() && transaction.isNewTransaction() && transaction.isReadOnly()
+                && PRIMARY_READS.get() == null) {
+            for (Object resource : TransactionSynchronizationManager.getResourceMap().values()) {
+                if (resource instanceof EntityManagerHolder holder) {
+                    // The JPA store mode, not Hibernate's CacheMode: find() resets the latter from it
+                    holder.getEntityManager().setProperty(SpecHints.HINT_SPEC_CACHE_STORE_MODE,
+                            CacheStoreMode.BYPASS);
+                }
+            }
+        }
+    }
+
+    // A committed read-write transaction pins the user who made it to the primary for a while
+    @Override
+    public void afterCommit(TransactionExecution transaction, Throwable commitFailure) {
+        if (commitFailure == null && isEnabled() && transaction.isNewTransaction() && !transaction.isReadOnly()) {
+            String user = currentUser();
+            if (user != null) {
+                recentWriters.put(user, System.nanoTime() + readYourWritesNanos);
+            }
+        }
+    }
+
+    private boolean wroteRecently(String user) {
+        Long until = user != null ? recentWriters.get(user) : null;
+        return until != null && until - System.nanoTime() > 0;
+    }
+
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.isAuthenticated() ? authentication.getName() : null;
+    }
+
+    @Override
+    public void destroy() {
+        replicas.forEach(replica -> replica.pool.close());
+    }
+
+    private static final class Replica {
+
+        private final HikariDataSource pool;
+        private volatile boolean healthy = true;
+
+        Replica(HikariDataSource pool) {
+            this.pool = pool;
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.student_teacher.config;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+@Configuration
+public class ReplicaRoutingConfig {
+
+    // With replicas configured, connections are fetched on the first statement instead of when the
+    // transaction begins, by which time a @Transactional(readOnly = true) one has marked itself
+    // read-only and is sent to a replica. Ordered so the SQL log still wraps the routed pool.
+    @Bean
+    public static BeanPostProcessor replicaRoutingPostProcessor(ObjectProvider<ReadReplicas> readReplicas) {
+        return new OrderedPostProcessor(readReplicas);
+    }
+
+    private record OrderedPostProcessor(ObjectProvider<ReadReplicas> readReplicas)
+            implements BeanPostProcessor, Ordered {
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (bean instanceof DataSource primary && !(bean instanceof LazyConnectionDataSourceProxy)) {
+                ReadReplicas replicas = readReplicas.getObject();
+                if (replicas.isEnabled()) {
+                    LazyConnectionDataSourceProxy routing = new LazyConnectionDataSourceProxy(primary);
+                    routing.setReadOnlyDataSource(replicas.routing(primary));
+                    return routing;
+                }
+            }
+            return bean;
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.HIGHEST_PRECEDENCE;
+        }
+    }
+}
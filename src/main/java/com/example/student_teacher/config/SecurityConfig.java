@@ -1,27 +1,59 @@
 package com.example.student_teacher.config;
 
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.boot.actuate.health.HealthEndpoint;
+import org.springframework.boot.actuate.metrics.export.prometheus.PrometheusScrapeEndpoint;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.security.config.Customizer;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.config.annotation.ObjectPostProcessor;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.access.intercept.RequestAuthorizationContext;
+import org.springframework.security.web.header.HeaderWriterFilter;
+import org.springframework.security.web.header.writers.CacheControlHeadersWriter;
+import org.springframework.security.web.header.writers.DelegatingRequestMatcherHeaderWriter;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.IpAddressMatcher;
+import org.springframework.security.web.util.matcher.NegatedRequestMatcher;
+import org.springframework.security.web.util.matcher.OrRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+
+import com.example.student_teacher.security.BCryptCalibration;
+import com.example.student_teacher.security.BoundedPasswordEncoder;
 
 @Configuration
 @EnableWebSecurity
 public class SecurityConfig {
 
+    private static final RequestMatcher REVALIDATED_READS = new OrRequestMatcher(
+            AntPathRequestMatcher.antMatcher(HttpMethod.GET, "/teacher/courses"),
+            AntPathRequestMatcher.antMatcher(HttpMethod.GET, "/teacher/departments"),
+            AntPathRequestMatcher.antMatcher(HttpMethod.GET, "/student/departments"));
+
     @Bean
-    public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+    public SecurityFilterChain securityFilterChain(HttpSecurity http,
+            @Value("${app.metrics.scrape-from:127.0.0.1/32,::1/128}") List<String> scrapers) throws Exception {
 
         http
                 .csrf(csrf -> csrf.disable())
                 .authorizeHttpRequests(auth -> auth
                 .requestMatchers("/login", "/css/**", "/js/**").permitAll()
+                .requestMatchers(EndpointRequest.to(HealthEndpoint.class)).permitAll()
+                .requestMatchers(EndpointRequest.to(PrometheusScrapeEndpoint.class)).access(fromNetworks(scrapers))
                 .requestMatchers("/student/**").hasRole("STUDENT")
                 .requestMatchers("/teacher/**").hasRole("TEACHER")
+                .requestMatchers("/stats/**").hasRole("TEACHER")
                 .anyRequest().authenticated()
                 )
                 .formLogin(form -> form
@@ -32,13 +64,47 @@ public class SecurityConfig {
                 .logout(logout -> logout
                 .logoutSuccessUrl("/login?logout")
                 .permitAll()
+                )
+                // Security headers go out before the handler runs: a streamed export commits the
+                // response from another thread, after which late headers would be lost
+                .headers(headers -> headers
+                // ETag-validated catalog reads set their own Cache-Control; everything else stays no-store
+                .cacheControl(cache -> cache.disable())
+                .addHeaderWriter(new DelegatingRequestMatcherHeaderWriter(
+                        new NegatedRequestMatcher(REVALIDATED_READS), new CacheControlHeadersWriter()))
+                .withObjectPostProcessor(new ObjectPostProcessor<HeaderWriterFilter>() {
+                    @Override
+                    public <O extends HeaderWriterFilter> O postProcess(O filter) {
+                        filter.setShouldWriteHeadersEagerly(true);
+                        return filter;
+                    }
+                })
                 );
 
         return http.build();
     }
 
+    // Scrapers don't log in; they are recognized by the network they call from
+    private static AuthorizationManager<RequestAuthorizationContext> fromNetworks(List<String> networks) {
+        List<IpAddressMatcher> matchers = networks.stream().map(IpAddressMatcher::new).toList();
+        return (authentication, context) -> new AuthorizationDecision(
+                matchers.stream().anyMatch(matcher -> matcher.matches(context.getRequest())));
+    }
+
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public BoundedPasswordEncoder passwordEncoder(
+            @Value("${app.security.bcrypt.strength:0}") int strength,
+            @Value("${app.security.bcrypt.target-millis:250}") long targetMillis,
+            @Value("${app.security.hashing.queue-capacity:64}") int queueCapacity) {
+        // 0 means: measure this machine and pick the cost that fits the target latency
+        int cost = strength > 0 ? strength : BCryptCalibration.strengthFor(Duration.ofMillis(targetMillis), 10, 16);
+        BCryptPasswordEncoder bcrypt = new BCryptPasswordEncoder(cost);
+
+        // New hashes are stored as {bcrypt}...; older unprefixed hashes still match and are
+        // re-encoded at the current cost on the next successful login
+        DelegatingPasswordEncoder delegating = new DelegatingPasswordEncoder("bcrypt", Map.of("bcrypt", bcrypt));
+        delegating.setDefaultPasswordEncoderForMatches(bcrypt);
+
+        return new BoundedPasswordEncoder(delegating, Runtime.getRuntime().availableProcessors(), queueCapacity);
     }
 }
@@ -0,0 +1,30 @@
+package com.example.student_teacher.config;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+@Configuration
+public class SqlLogConfig {
+
+    // Wraps the pool Boot configured rather than replacing it; metrics still find Hikari behind the wrapper.
+    // Read at runtime, so app.sql-log.enabled still applies to an AOT-built image.
+    @Bean
+    public static BeanPostProcessor sqlLogDataSourcePostProcessor(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof SqlLogDataSource)
+                        && environment.getProperty("app.sql-log.enabled", Boolean.class, true)) {
+                    return new SqlLogDataSource(dataSource,
+                            environment.getProperty("app.sql-log.slow-threshold-ms", Long.class, 200L),
+                            environment.getProperty("app.sql-log.sample-rate", Double.class, 0.0));
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,214 @@
+package com.example.student_teacher.config;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Times every statement and logs the ones over the slow threshold, plus a random sample of the
+ * rest, as one key=value line: duration, rows, the endpoint that issued it, the types of the bound
+ * parameters (never their values) and the SQL. A query's duration runs until its result set is
+ * closed, so the choice to log it is made then: one that executes quickly but spends its time
+ * fetching rows (a streamed export) is still logged as slow.
+ */
+public class SqlLogDataSource extends DelegatingDataSource {
+
+    private static final Logger log = LoggerFactory.getLogger(SqlLogDataSource.class);
+
+    private final long slowNanos;
+    private final double sampleRate;
+
+    public SqlLogDataSource(DataSource target, long slowMillis, double sampleRate) {
+        super(target);
+        this.slowNanos = slowMillis * 1_000_000;
+        this.sampleRate = sampleRate;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Connection connection = super.getConnection();
+        return proxy(Connection.class, new ConnectionHandler(connection));
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        Connection connection = super.getConnection(username, password);
+        return proxy(Connection.class, new ConnectionHandler(connection));
+    }
+
+    private boolean shouldLog(long nanos) {
+        return nanos >= slowNanos || (sampleRate > 0 && ThreadLocalRandom.current().nextDouble() < sampleRate);
+    }
+
+    private void write(long nanos, String rows, String sql, List<String> params) {
+        log.info("sql kind={} ms={} rows={} endpoint=\"{}\" params={} statement=\"{}\"",
+                nanos >= slowNanos ? "slow" : "sample", String.format(Locale.ROOT, "%.1f", nanos / 1e6), rows,
+                endpoint(), params, sql.replace('\n', ' ').replace("\"", "\\\""));
+    }
+
+    // The handler's URL pattern, so ids in paths don't make every request a different endpoint
+    private static String endpoint() {
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            HttpServletRequest request = attributes.getRequest();
+            if (request.getMethod() == null) {
+                return "-";
+            }
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            return request.getMethod() + " " + (pattern != null ? pattern : request.getRequestURI());
+        }
+        return "-";
+    }
+
+    private final class ConnectionHandler implements InvocationHandler {
+
+        private final Connection target;
+
+        ConnectionHandler(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = call(target, method, args);
+            if (result instanceof CallableStatement statement) {
+                return proxy(CallableStatement.class, new StatementHandler(statement, (String) args[0]));
+            }
+            if (result instanceof PreparedStatement statement) {
+                return proxy(PreparedStatement.class, new StatementHandler(statement, (String) args[0]));
+            }
+            if (result instanceof Statement statement) {
+                return proxy(Statement.class, new StatementHandler(statement, null));
+            }
+            return result;
+        }
+    }
+
+    private final class StatementHandler implements InvocationHandler {
+
+        private final Statement target;
+        private final String preparedSql;
+        private final List<String> params = new ArrayList<>();
+
+        StatementHandler(Statement target, String preparedSql) {
+            this.target = target;
+            this.preparedSql = preparedSql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                shape(index, name.equals("setNull") || args[1] == null ? "null"
+                        : name.equals("setObject") ? args[1].getClass().getSimpleName() : name.substring(3));
+            } else if (name.equals("clearParameters")) {
+                params.clear();
+            }
+            if (!name.startsWith("execute")) {
+                return call(target, method, args);
+            }
+
+            String sql = preparedSql != null ? preparedSql : args != null && args.length > 0 ? (String) args[0] : "";
+            long start = System.nanoTime();
+            Object result = call(target, method, args);
+            long nanos = System.nanoTime() - start;
+            if (result instanceof ResultSet resultSet) {
+                // Rows and the time spent reading them are only known once the set closes
+                return proxy(ResultSet.class, new CountingResultSet(resultSet, start, sql, List.copyOf(params)));
+            }
+            if (shouldLog(nanos)) {
+                write(nanos, rows(result), sql, List.copyOf(params));
+            }
+            return result;
+        }
+
+        private void shape(int index, String type) {
+            while (params.size() < index) {
+                params.add("?");
+            }
+            params.set(index - 1, type);
+        }
+
+        private String rows(Object result) throws SQLException {
+            if (result instanceof int[] counts) {
+                long total = 0;
+                for (int count : counts) {
+                    total += Math.max(count, 0);
+                }
+                return String.valueOf(total);
+            }
+            if (result instanceof Number count) {
+                return count.toString();
+            }
+            return String.valueOf(target.getUpdateCount());
+        }
+    }
+
+    private final class CountingResultSet implements InvocationHandler {
+
+        private final ResultSet target;
+        private final long start;
+        private final String sql;
+        private final List<String> params;
+        private long rows;
+        private boolean written;
+
+        CountingResultSet(ResultSet target, long start, String sql, List<String> params) {
+            this.target = target;
+            this.start = start;
+            this.sql = sql;
+            this.params = params;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.equals("close") && !written) {
+                written = true;
+                long nanos = System.nanoTime() - start;
+                if (shouldLog(nanos)) {
+                    write(nanos, String.valueOf(rows), sql, params);
+                }
+            }
+            Object result = call(target, method, args);
+            if (name.equals("next") && Boolean.TRUE.equals(result)) {
+                rows++;
+            }
+            return result;
+        }
+    }
+
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(SqlLogDataSource.class.getClassLoader(), new Class<?>[] {type},
+                handler));
+    }
+
+    private static Object call(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
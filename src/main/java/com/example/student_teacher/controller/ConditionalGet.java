@@ -0,0 +1,32 @@
+package com.example.student_teacher.controller;
+
+import java.util.function.Supplier;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+import com.example.student_teacher.config.ReadReplicas;
+
+/**
+ * ETag handling for read-mostly endpoints. The body is only produced when the client's copy is
+ * out of date, so a 304 costs the version lookup behind the tag but no listing query or JSON
+ * serialization.
+ */
+final class ConditionalGet {
+
+    // Stored by the browser but revalidated on every use; private, since the responses require login
+    private static final CacheControl CACHE_CONTROL = CacheControl.noCache().cachePrivate();
+
+    private ConditionalGet() {
+    }
+
+    static <T> ResponseEntity<T> respond(WebRequest request, String etag, Supplier<T> body) {
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(CACHE_CONTROL).build();
+        }
+        // Every client holding the tag is told its copy is current, so the body must not lag behind it
+        return ResponseEntity.ok().eTag(etag).cacheControl(CACHE_CONTROL).body(ReadReplicas.fromPrimary(body));
+    }
+}
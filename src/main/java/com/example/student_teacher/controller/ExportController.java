@@ -0,0 +1,63 @@
+package com.example.student_teacher.controller;
+
+import java.util.Locale;
+
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.example.student_teacher.service.ExportService;
+import com.example.student_teacher.service.ExportService.Dataset;
+import com.example.student_teacher.service.ExportService.Format;
+
+@RestController
+@RequestMapping("/teacher/export")
+public class ExportController {
+
+    private static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv");
+    private static final MediaType APPLICATION_GZIP = MediaType.parseMediaType("application/gzip");
+
+    private final ExportService exportService;
+
+    public ExportController(ExportService exportService) {
+        this.exportService = exportService;
+    }
+
+    // dataset is one of students, courses, enrollments
+    @GetMapping("/{dataset}")
+    public ResponseEntity<StreamingResponseBody> export(@PathVariable String dataset,
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        Dataset ds;
+        Format fmt;
+        try {
+            ds = Dataset.valueOf(dataset.toUpperCase(Locale.ROOT));
+            fmt = Format.valueOf(format.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unknown export: " + dataset + " as " + format);
+        }
+
+        String filename = dataset.toLowerCase(Locale.ROOT) + (fmt == Format.CSV ? ".csv" : ".ndjson");
+        MediaType contentType = fmt == Format.CSV ? TEXT_CSV : MediaType.APPLICATION_NDJSON;
+        if (gzip) {
+            filename += ".gz";
+            contentType = APPLICATION_GZIP;
+        }
+
+        StreamingResponseBody body = exportService.export(ds, fmt, gzip);
+        return ResponseEntity.ok()
+                .contentType(contentType)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(filename).build().toString())
+                .body(body);
+    }
+}
@@ -0,0 +1,47 @@
+package com.example.student_teacher.controller;
+
+import java.util.List;
+
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.example.student_teacher.dto.CourseStats;
+import com.example.student_teacher.dto.CursorPage;
+import com.example.student_teacher.dto.DeptStats;
+import com.example.student_teacher.repository.CourseSeatRepository;
+
+/**
+ * Enrollment and credit-hour totals per dept and per course, read from the live seat counters
+ * rather than recomputed from student_courses.
+ */
+@RestController
+@RequestMapping("/stats")
+public class StatsController {
+
+    private final CourseSeatRepository seatRepo;
+
+    public StatsController(CourseSeatRepository seatRepo) {
+        this.seatRepo = seatRepo;
+    }
+
+    @GetMapping("/departments")
+    public List<DeptStats> getDepartmentStats() {
+        return seatRepo.findDeptStats();
+    }
+
+    @GetMapping("/courses")
+    public ResponseEntity<?> getCourseStats(@RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "" + CursorPage.DEFAULT_SIZE) int size,
+            @RequestParam(required = false) Long dept) {
+        try {
+            int limit = CursorPage.clampSize(size);
+            List<CourseStats> rows = seatRepo.findCourseStatsPage(CursorPage.parseCursor(after), dept, limit + 1);
+            return ResponseEntity.ok(CursorPage.of(rows, limit, CourseStats::courseId));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Error fetching course stats: " + e.getMessage());
+        }
+    }
+}
@@ -1,7 +1,11 @@
 package com.example.student_teacher.controller;
 
 import java.security.Principal;
+import java.util.List;
+import java.util.Locale;
 
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -11,36 +15,51 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
-import com.example.student_teacher.entity.Course;
+import com.example.student_teacher.config.ReadReplicas;
+import com.example.student_teacher.dto.CourseView;
+import com.example.student_teacher.dto.StudentView;
 import com.example.student_teacher.entity.Dept;
+import com.example.student_teacher.entity.Role;
 import com.example.student_teacher.entity.Student;
-import com.example.student_teacher.repository.CourseRepository;
 import com.example.student_teacher.repository.DeptRepository;
 import com.example.student_teacher.repository.StudentRepository;
+import com.example.student_teacher.security.AccountPrincipal;
+import com.example.student_teacher.service.CatalogVersions;
+import com.example.student_teacher.service.CourseSearchIndex;
+import com.example.student_teacher.service.EnrollmentService;
 
 @RestController
 @RequestMapping("/student")
 public class StudentController {
 
     private final StudentRepository studentRepo;
-    private final CourseRepository courseRepo;
     private final DeptRepository deptRepo;
     private final PasswordEncoder passwordEncoder;
+    private final EnrollmentService enrollmentService;
+    private final CatalogVersions catalogVersions;
+    private final CourseSearchIndex courseSearch;
 
-    public StudentController(StudentRepository studentRepo, CourseRepository courseRepo,
-            DeptRepository deptRepo, PasswordEncoder passwordEncoder) {
+    public StudentController(StudentRepository studentRepo, DeptRepository deptRepo,
+            PasswordEncoder passwordEncoder, EnrollmentService enrollmentService, CatalogVersions catalogVersions,
+            CourseSearchIndex courseSearch) {
         this.studentRepo = studentRepo;
-        this.courseRepo = courseRepo;
         this.deptRepo = deptRepo;
         this.passwordEncoder = passwordEncoder;
+        this.enrollmentService = enrollmentService;
+        this.catalogVersions = catalogVersions;
+        this.courseSearch = courseSearch;
     }
 
     @GetMapping("/profile")
     public ResponseEntity<?> getProfile(Principal principal) {
         try {
-            Student student = studentRepo.findByEmail(principal.getName())
+            StudentView student = AccountPrincipal.idOf(principal, Role.STUDENT)
+                    .flatMap(studentRepo::findViewById)
+                    .or(() -> studentRepo.findViewByEmail(principal.getName()))
                     .orElseThrow(() -> new RuntimeException("Student not found"));
             return ResponseEntity.ok(student);
         } catch (Exception e) {
@@ -51,7 +70,9 @@ public class StudentController {
     @PutMapping("/profile")
     public ResponseEntity<?> updateProfile(@RequestBody Student updatedStudent, Principal principal) {
         try {
-            Student student = studentRepo.findByEmail(principal.getName())
+            Student student = ReadReplicas.fromPrimary(() -> AccountPrincipal.idOf(principal, Role.STUDENT)
+                    .flatMap(studentRepo::findById)
+                    .or(() -> studentRepo.findByEmail(principal.getName())))
                     .orElseThrow(() -> new RuntimeException("Student not found"));
 
             // Update name if provided
@@ -72,31 +93,67 @@ public class StudentController {
             }
 
             Student saved = studentRepo.save(student);
-            return ResponseEntity.ok(saved);
+            return ResponseEntity.ok(StudentView.of(saved));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body("Error updating profile: " + e.getMessage());
         }
     }
 
     @GetMapping("/departments")
-    public ResponseEntity<?> getDepartments() {
-        return ResponseEntity.ok(deptRepo.findAll());
+    public ResponseEntity<?> getDepartments(WebRequest request) {
+        return ConditionalGet.respond(request, catalogVersions.etag(Dept.class), deptRepo::findAll);
+    }
+
+    // Typeahead over title, teacher and dept, answered from memory; Server-Timing reports the lookup time
+    @GetMapping("/courses/search")
+    public ResponseEntity<List<CourseView>> searchCourses(@RequestParam String q,
+            @RequestParam(defaultValue = "10") int limit) {
+        long start = System.nanoTime();
+        List<CourseView> results = courseSearch.search(q, Math.min(limit, 50));
+        String took = String.format(Locale.ROOT, "search;dur=%.3f", (System.nanoTime() - start) / 1e6);
+        return ResponseEntity.ok().header("Server-Timing", took).body(results);
     }
 
     @PostMapping("/courses/{courseId}")
-    public String takeCourse(@PathVariable Long courseId, Principal principal) {
-        Student student = studentRepo.findByEmail(principal.getName()).get();
-        Course course = courseRepo.findById(courseId).get();
-        student.getCourses().add(course);
-        studentRepo.save(student);
-        return "Course taken";
+    public ResponseEntity<String> takeCourse(@PathVariable Long courseId, Principal principal) {
+        Long studentId = currentStudentId(principal);
+        try {
+            return switch (enrollmentService.enroll(studentId, courseId)) {
+                case ENROLLED -> ResponseEntity.ok("Course taken");
+                case ALREADY_ENROLLED -> ResponseEntity.ok("Already enrolled");
+                case FULL -> ResponseEntity.status(HttpStatus.CONFLICT).body("Course is full");
+                case COURSE_NOT_FOUND -> ResponseEntity.badRequest().body("Course not found");
+            };
+        } catch (DataIntegrityViolationException e) {
+            // The course or the account went away while enrolling; nothing was saved
+            return ResponseEntity.status(HttpStatus.CONFLICT).body("Enrollment could not be saved");
+        }
     }
 
     @DeleteMapping("/courses/{courseId}")
-    public String removeCourse(@PathVariable Long courseId, Principal principal) {
-        Student student = studentRepo.findByEmail(principal.getName()).get();
-        student.getCourses().removeIf(c -> c.getId().equals(courseId));
-        studentRepo.save(student);
-        return "Course removed";
+    public ResponseEntity<String> removeCourse(@PathVariable Long courseId, Principal principal) {
+        Long studentId = currentStudentId(principal);
+        try {
+            enrollmentService.drop(studentId, courseId);
+        } catch (DataIntegrityViolationException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body("Course could not be removed");
+        }
+        return ResponseEntity.ok("Course removed");
+    }
+
+    @GetMapping("/courses/{courseId}/seats")
+    public ResponseEntity<?> getSeats(@PathVariable Long courseId) {
+        try {
+            return ResponseEntity.ok(enrollmentService.seats(courseId));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Error fetching seats: " + e.getMessage());
+        }
+    }
+
+    // Taken from the session principal; a plain UserDetails principal falls back to the email lookup
+    private Long currentStudentId(Principal principal) {
+        return AccountPrincipal.idOf(principal, Role.STUDENT)
+                .or(() -> studentRepo.findIdByEmail(principal.getName()))
+                .orElseThrow(() -> new RuntimeException("Student not found"));
     }
 }
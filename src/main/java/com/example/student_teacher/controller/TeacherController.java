@@ -1,8 +1,11 @@
 package com.example.student_teacher.controller;
 
+import java.io.InputStream;
 import java.security.Principal;
 import java.util.List;
+import java.util.Optional;
 
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -11,17 +14,34 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
+import com.example.student_teacher.config.ReadReplicas;
+import com.example.student_teacher.dto.CourseFilter;
+import com.example.student_teacher.dto.CourseView;
+import com.example.student_teacher.dto.CursorPage;
+import com.example.student_teacher.dto.FacetedPage;
+import com.example.student_teacher.dto.StudentDetailView;
+import com.example.student_teacher.dto.StudentView;
+import com.example.student_teacher.dto.TeacherView;
 import com.example.student_teacher.entity.Course;
 import com.example.student_teacher.entity.Dept;
+import com.example.student_teacher.entity.Role;
 import com.example.student_teacher.entity.Student;
 import com.example.student_teacher.entity.Teacher;
 import com.example.student_teacher.repository.CourseRepository;
 import com.example.student_teacher.repository.DeptRepository;
 import com.example.student_teacher.repository.StudentRepository;
 import com.example.student_teacher.repository.TeacherRepository;
+import com.example.student_teacher.security.AccountPrincipal;
+import com.example.student_teacher.service.CatalogVersions;
+import com.example.student_teacher.service.CourseService;
+import com.example.student_teacher.service.EnrollmentService;
+import com.example.student_teacher.service.StudentImportService;
 
 @RestController
 @RequestMapping("/teacher")
@@ -32,32 +52,76 @@ public class TeacherController {
     private final StudentRepository studentRepo;
     private final DeptRepository deptRepo;
     private final PasswordEncoder passwordEncoder;
+    private final CourseService courseService;
+    private final StudentImportService studentImportService;
+    private final EnrollmentService enrollmentService;
+    private final CatalogVersions catalogVersions;
 
     public TeacherController(CourseRepository courseRepo, TeacherRepository teacherRepo,
-            StudentRepository studentRepo, DeptRepository deptRepo, PasswordEncoder passwordEncoder) {
+            StudentRepository studentRepo, DeptRepository deptRepo, PasswordEncoder passwordEncoder,
+            CourseService courseService, StudentImportService studentImportService,
+            EnrollmentService enrollmentService, CatalogVersions catalogVersions) {
         this.courseRepo = courseRepo;
         this.teacherRepo = teacherRepo;
         this.studentRepo = studentRepo;
         this.deptRepo = deptRepo;
         this.passwordEncoder = passwordEncoder;
+        this.courseService = courseService;
+        this.studentImportService = studentImportService;
+        this.enrollmentService = enrollmentService;
+        this.catalogVersions = catalogVersions;
     }
 
     @GetMapping("/courses")
-    public List<Course> getAllCourses() {
-        return courseRepo.findAll();
+    public ResponseEntity<List<CourseView>> getAllCourses(WebRequest request) {
+        return ConditionalGet.respond(request, catalogVersions.etag(Course.class, Teacher.class, Dept.class),
+                courseRepo::findCatalogViews);
+    }
+
+    @GetMapping("/courses/page")
+    public ResponseEntity<?> getCoursePage(@RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "" + CursorPage.DEFAULT_SIZE) int size,
+            @RequestParam(required = false) Long dept,
+            @RequestParam(required = false) String title) {
+        try {
+            int limit = CursorPage.clampSize(size);
+            List<CourseView> rows = courseRepo.findCatalogPage(CursorPage.parseCursor(after), dept, title, limit + 1);
+            return ResponseEntity.ok(CursorPage.of(rows, limit, CourseView::id));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Error fetching courses: " + e.getMessage());
+        }
+    }
+
+    // Filter by dept, credit range and teacher; the facet counts come from one aggregate query
+    @GetMapping("/courses/browse")
+    public ResponseEntity<?> browseCourses(@RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "" + CursorPage.DEFAULT_SIZE) int size,
+            @RequestParam(required = false) Long dept,
+            @RequestParam(required = false) Integer minCredit,
+            @RequestParam(required = false) Integer maxCredit,
+            @RequestParam(required = false) Long teacher) {
+        try {
+            int limit = CursorPage.clampSize(size);
+            CourseFilter filter = new CourseFilter(dept, minCredit, maxCredit, teacher);
+            List<CourseView> rows = courseRepo.findFilteredPage(filter, CursorPage.parseCursor(after), limit + 1);
+            return ResponseEntity.ok(new FacetedPage<>(CursorPage.of(rows, limit, CourseView::id),
+                    courseRepo.findFacetCounts(filter)));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Error browsing courses: " + e.getMessage());
+        }
     }
 
     @PostMapping("/courses")
-    public Course addCourse(@RequestBody Course course, Principal principal) {
-        Teacher teacher = teacherRepo.findByEmail(principal.getName()).get();
+    public CourseView addCourse(@RequestBody Course course, Principal principal) {
+        Teacher teacher = currentTeacher(principal).get();
         course.setTeacher(teacher);
-        return courseRepo.save(course);
+        return CourseView.of(courseService.createCourse(course));
     }
 
     @PutMapping("/courses/{id}")
     public ResponseEntity<?> updateCourse(@PathVariable Long id, @RequestBody Course updatedCourse) {
         try {
-            Course course = courseRepo.findById(id)
+            Course course = ReadReplicas.fromPrimary(() -> courseRepo.findById(id))
                     .orElseThrow(() -> new RuntimeException("Course not found"));
 
             if (updatedCourse.getTitle() != null && !updatedCourse.getTitle().isEmpty()) {
@@ -66,47 +130,81 @@ public class TeacherController {
             if (updatedCourse.getCredit() > 0) {
                 course.setCredit(updatedCourse.getCredit());
             }
+            if (updatedCourse.getCapacity() != null && updatedCourse.getCapacity() >= 0) {
+                course.setCapacity(updatedCourse.getCapacity());
+            }
 
             Course saved = courseRepo.save(course);
-            return ResponseEntity.ok(saved);
+            return ResponseEntity.ok(CourseView.of(saved));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body("Error updating course: " + e.getMessage());
         }
     }
 
+    @GetMapping("/courses/{id}/seats")
+    public ResponseEntity<?> getSeats(@PathVariable Long id) {
+        try {
+            return ResponseEntity.ok(enrollmentService.seats(id));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Error fetching seats: " + e.getMessage());
+        }
+    }
+
     @DeleteMapping("/courses/{id}")
     public ResponseEntity<?> deleteCourse(@PathVariable Long id) {
         try {
-            if (!courseRepo.existsById(id)) {
-                return ResponseEntity.badRequest().body("Course not found");
-            }
-            courseRepo.deleteById(id);
-            return ResponseEntity.ok("Course deleted successfully");
+            int enrollments = courseService.deleteCourse(id);
+            return ResponseEntity.ok("Course deleted successfully (" + enrollments + " enrollments removed)");
         } catch (Exception e) {
             return ResponseEntity.badRequest().body("Error deleting course: " + e.getMessage());
         }
     }
 
     @GetMapping("/students")
-    public List<Student> getAllStudents() {
-        return studentRepo.findAll();
+    public List<StudentView> getAllStudents() {
+        return studentRepo.findAllViews();
+    }
+
+    @GetMapping("/students/page")
+    public ResponseEntity<?> getStudentPage(@RequestParam(required = false) String after,
+            @RequestParam(defaultValue = "" + CursorPage.DEFAULT_SIZE) int size,
+            @RequestParam(required = false) Long dept,
+            @RequestParam(required = false) String name) {
+        try {
+            int limit = CursorPage.clampSize(size);
+            List<StudentView> rows = studentRepo.findRosterPage(CursorPage.parseCursor(after), dept, name, limit + 1);
+            return ResponseEntity.ok(CursorPage.of(rows, limit, StudentView::id));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Error fetching students: " + e.getMessage());
+        }
     }
 
     @GetMapping("/students/{id}")
     public ResponseEntity<?> getStudentById(@PathVariable Long id) {
         try {
-            Student student = studentRepo.findById(id)
+            StudentView student = studentRepo.findViewById(id)
                     .orElseThrow(() -> new RuntimeException("Student not found"));
-            return ResponseEntity.ok(student);
+            return ResponseEntity.ok(StudentDetailView.of(student, courseRepo.findViewsByStudentId(id)));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body("Error fetching student: " + e.getMessage());
         }
     }
 
+    @GetMapping("/workload")
+    public ResponseEntity<?> getWorkload(Principal principal) {
+        try {
+            Teacher teacher = currentTeacher(principal)
+                    .orElseThrow(() -> new RuntimeException("Teacher not found"));
+            return ResponseEntity.ok(courseRepo.findWorkload(teacher.getId()));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Error fetching workload: " + e.getMessage());
+        }
+    }
+
     @GetMapping("/profile")
     public ResponseEntity<?> getProfile(Principal principal) {
         try {
-            Teacher teacher = teacherRepo.findByEmail(principal.getName())
+            TeacherView teacher = currentTeacher(principal).map(TeacherView::of)
                     .orElseThrow(() -> new RuntimeException("Teacher not found"));
             return ResponseEntity.ok(teacher);
         } catch (Exception e) {
@@ -117,7 +215,7 @@ public class TeacherController {
     @PutMapping("/profile")
     public ResponseEntity<?> updateProfile(@RequestBody Teacher updatedTeacher, Principal principal) {
         try {
-            Teacher teacher = teacherRepo.findByEmail(principal.getName())
+            Teacher teacher = ReadReplicas.fromPrimary(() -> currentTeacher(principal))
                     .orElseThrow(() -> new RuntimeException("Teacher not found"));
 
             // Update name if provided
@@ -131,15 +229,15 @@ public class TeacherController {
             }
 
             Teacher saved = teacherRepo.save(teacher);
-            return ResponseEntity.ok(saved);
+            return ResponseEntity.ok(TeacherView.of(saved));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body("Error updating profile: " + e.getMessage());
         }
     }
 
     @GetMapping("/departments")
-    public List<Dept> getAllDepartments() {
-        return deptRepo.findAll();
+    public ResponseEntity<List<Dept>> getAllDepartments(WebRequest request) {
+        return ConditionalGet.respond(request, catalogVersions.etag(Dept.class), deptRepo::findAll);
     }
 
     @PostMapping("/students")
@@ -160,22 +258,42 @@ public class TeacherController {
             // Encode password and save
             student.setPassword(passwordEncoder.encode(student.getPassword()));
             Student savedStudent = studentRepo.save(student);
-            return ResponseEntity.ok(savedStudent);
+            return ResponseEntity.ok(StudentView.of(savedStudent));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body("Error adding student: " + e.getMessage());
         }
     }
 
+    // Streams a CSV or NDJSON upload straight from the request body
+    @PostMapping(value = "/students/import", consumes = {"text/csv", MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<?> importStudents(@RequestHeader("Content-Type") String contentType, InputStream body) {
+        try {
+            if (MediaType.APPLICATION_NDJSON.isCompatibleWith(MediaType.parseMediaType(contentType))) {
+                return ResponseEntity.ok(studentImportService.importNdjson(body));
+            }
+            return ResponseEntity.ok(studentImportService.importCsv(body));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body("Error importing students: " + e.getMessage());
+        }
+    }
+
     @DeleteMapping("/students/{id}")
     public ResponseEntity<?> deleteStudent(@PathVariable Long id) {
         try {
             if (!studentRepo.existsById(id)) {
                 return ResponseEntity.badRequest().body("Student not found");
             }
-            studentRepo.deleteById(id);
+            enrollmentService.removeStudent(id);
             return ResponseEntity.ok("Student deleted successfully");
         } catch (Exception e) {
             return ResponseEntity.badRequest().body("Error deleting student: " + e.getMessage());
         }
     }
+
+    // Teachers are second-level cached, so the id from the session principal usually costs no query at all
+    private Optional<Teacher> currentTeacher(Principal principal) {
+        return AccountPrincipal.idOf(principal, Role.TEACHER)
+                .flatMap(teacherRepo::findById)
+                .or(() -> teacherRepo.findByEmail(principal.getName()));
+    }
 }
@@ -1,7 +1,11 @@
 package com.example.student_teacher.controller;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.stereotype.Controller;
@@ -11,12 +15,19 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 
+import com.example.student_teacher.dto.TeacherWorkload;
 import com.example.student_teacher.entity.Course;
+import com.example.student_teacher.entity.Role;
 import com.example.student_teacher.entity.Student;
 import com.example.student_teacher.entity.Teacher;
 import com.example.student_teacher.repository.CourseRepository;
 import com.example.student_teacher.repository.StudentRepository;
 import com.example.student_teacher.repository.TeacherRepository;
+import com.example.student_teacher.security.AccountPrincipal;
+import com.example.student_teacher.service.CatalogFragmentCache;
+import com.example.student_teacher.service.CourseService;
+import com.example.student_teacher.service.EnrollmentService;
+import com.example.student_teacher.service.EnrollmentService.Result;
 
 @Controller
 public class WebController {
@@ -24,11 +35,18 @@ public class WebController {
     private final StudentRepository studentRepo;
     private final TeacherRepository teacherRepo;
     private final CourseRepository courseRepo;
+    private final CourseService courseService;
+    private final EnrollmentService enrollmentService;
+    private final CatalogFragmentCache catalogFragments;
 
-    public WebController(StudentRepository studentRepo, TeacherRepository teacherRepo, CourseRepository courseRepo) {
+    public WebController(StudentRepository studentRepo, TeacherRepository teacherRepo, CourseRepository courseRepo,
+            CourseService courseService, EnrollmentService enrollmentService, CatalogFragmentCache catalogFragments) {
         this.studentRepo = studentRepo;
         this.teacherRepo = teacherRepo;
         this.courseRepo = courseRepo;
+        this.courseService = courseService;
+        this.enrollmentService = enrollmentService;
+        this.catalogFragments = catalogFragments;
     }
 
     @GetMapping("/login")
@@ -48,77 +66,92 @@ public class WebController {
 
     @GetMapping("/student/dashboard")
     public String studentDashboard(Authentication auth, Model model) {
-        Student student = studentRepo.findByEmail(auth.getName()).orElse(null);
-        List<Course> allCourses = courseRepo.findAll();
+        Student student = AccountPrincipal.idOf(auth, Role.STUDENT)
+                .flatMap(studentRepo::findWithCoursesById)
+                .or(() -> studentRepo.findWithCoursesByEmail(auth.getName()))
+                .orElse(null);
+        Set<Course> myCourses = student != null ? student.getCourses() : Set.of();
+        Set<Long> enrolledIds = myCourses.stream().map(Course::getId).collect(Collectors.toSet());
 
         model.addAttribute("student", student);
-        model.addAttribute("myCourses", student != null ? student.getCourses() : List.of());
-        model.addAttribute("allCourses", allCourses);
+        model.addAttribute("myCourses", myCourses);
+        model.addAttribute("enrolledIds", enrolledIds);
+        // Shared catalog rows come pre-rendered; only the enroll state is rendered per student
+        model.addAttribute("catalog", catalogFragments.rows());
         return "student-dashboard";
     }
 
     @GetMapping("/teacher/dashboard")
     public String teacherDashboard(Authentication auth, Model model) {
-        Teacher teacher = teacherRepo.findByEmail(auth.getName()).orElse(null);
-        List<Course> myCourses = courseRepo.findByTeacher(teacher);
-        int totalCredits = myCourses.stream().mapToInt(Course::getCredit).sum();
+        Teacher teacher = currentTeacher(auth).orElse(null);
+        TeacherWorkload workload = teacher != null ? courseRepo.findWorkload(teacher.getId())
+                : TeacherWorkload.of(List.of());
 
         model.addAttribute("teacher", teacher);
-        model.addAttribute("myCourses", myCourses);
-        model.addAttribute("totalCredits", totalCredits);
+        model.addAttribute("myCourses", workload.courses());
+        model.addAttribute("totalCredits", workload.totalCredits());
+        model.addAttribute("totalEnrolled", workload.totalEnrolled());
         return "teacher-dashboard";
     }
 
     @PostMapping("/teacher/courses/add")
-    public String addCourse(@RequestParam String title, @RequestParam int credit, Authentication auth) {
-        Teacher teacher = teacherRepo.findByEmail(auth.getName()).orElse(null);
+    public String addCourse(@RequestParam String title, @RequestParam int credit,
+            @RequestParam(required = false) Integer capacity, Authentication auth) {
+        Teacher teacher = currentTeacher(auth).orElse(null);
         if (teacher != null) {
             Course course = new Course();
             course.setTitle(title);
             course.setCredit(credit);
+            course.setCapacity(capacity);
             course.setTeacher(teacher);
-            courseRepo.save(course);
+            courseService.createCourse(course);
         }
         return "redirect:/teacher/dashboard";
     }
 
     @PostMapping("/student/courses/enroll/{courseId}")
     public String enrollCourse(@PathVariable Long courseId, Authentication auth) {
-        Student student = studentRepo.findByEmail(auth.getName()).orElse(null);
-        Course course = courseRepo.findById(courseId).orElse(null);
-        if (student != null && course != null) {
-            student.getCourses().add(course);
-            studentRepo.save(student);
+        Long studentId = currentStudentId(auth).orElse(null);
+        try {
+            if (studentId != null && enrollmentService.enroll(studentId, courseId) == Result.FULL) {
+                return "redirect:/student/dashboard?full";
+            }
+        } catch (DataIntegrityViolationException e) {
+            // The course or the account went away while enrolling; nothing was saved
+            return "redirect:/student/dashboard?failed";
         }
         return "redirect:/student/dashboard";
     }
 
     @PostMapping("/student/courses/drop/{courseId}")
     public String dropCourse(@PathVariable Long courseId, Authentication auth) {
-        Student student = studentRepo.findByEmail(auth.getName()).orElse(null);
-        if (student != null) {
-            student.getCourses().removeIf(c -> c.getId().equals(courseId));
-            studentRepo.save(student);
+        try {
+            currentStudentId(auth)
+                    .ifPresent(studentId -> enrollmentService.drop(studentId, courseId));
+        } catch (DataIntegrityViolationException e) {
+            return "redirect:/student/dashboard?failed";
         }
         return "redirect:/student/dashboard";
     }
 
     @PostMapping("/teacher/courses/delete/{courseId}")
     public String deleteCourse(@PathVariable Long courseId, Authentication auth) {
-        Teacher teacher = teacherRepo.findByEmail(auth.getName()).orElse(null);
-        Course course = courseRepo.findById(courseId).orElse(null);
-
         // Only allow deletion if course belongs to the logged-in teacher
-        if (teacher != null && course != null && course.getTeacher().getId().equals(teacher.getId())) {
-            // Remove course from all enrolled students first
-            List<Student> students = studentRepo.findAll();
-            for (Student student : students) {
-                student.getCourses().removeIf(c -> c.getId().equals(courseId));
-                studentRepo.save(student);
-            }
-            // Then delete the course
-            courseRepo.delete(course);
+        if (courseRepo.existsByIdAndTeacherEmail(courseId, auth.getName())) {
+            courseService.deleteCourse(courseId);
         }
         return "redirect:/teacher/dashboard";
     }
+
+    // The session principal carries the account id; plain UserDetails principals fall back to the email
+    private Optional<Long> currentStudentId(Authentication auth) {
+        return AccountPrincipal.idOf(auth, Role.STUDENT)
+                .or(() -> studentRepo.findIdByEmail(auth.getName()));
+    }
+
+    private Optional<Teacher> currentTeacher(Authentication auth) {
+        return AccountPrincipal.idOf(auth, Role.TEACHER)
+                .flatMap(teacherRepo::findById)
+                .or(() -> teacherRepo.findByEmail(auth.getName()));
+    }
 }
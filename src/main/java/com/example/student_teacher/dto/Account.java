@@ -0,0 +1,9 @@
+package com.example.student_teacher.dto;
+
+import com.example.student_teacher.entity.Role;
+
+/**
+ * A login identity resolved from either the student or the teacher table.
+ */
+public record Account(Long id, String email, String password, Role role) {
+}
@@ -0,0 +1,5 @@
+package com.example.student_teacher.dto;
+
+// One pre-rendered catalog row: the shared cells as HTML, plus the id the per-student action needs
+public record CatalogRow(Long courseId, String cells) {
+}
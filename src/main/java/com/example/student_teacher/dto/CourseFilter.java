@@ -0,0 +1,7 @@
+package com.example.student_teacher.dto;
+
+/**
+ * Catalog filters; a {@code null} field does not filter. Credit bounds are inclusive.
+ */
+public record CourseFilter(Long deptId, Integer minCredit, Integer maxCredit, Long teacherId) {
+}
@@ -0,0 +1,5 @@
+package com.example.student_teacher.dto;
+
+// One course on a teacher's workload with its current enrollment
+public record CourseLoad(Long id, String title, int credit, Integer capacity, long enrolled) {
+}
@@ -0,0 +1,9 @@
+package com.example.student_teacher.dto;
+
+// Enrollment totals of one course, read from its live seat counter
+public record CourseStats(Long courseId, String title, Long deptId, int credit, int enrolled, long creditHours) {
+
+    public CourseStats(Long courseId, String title, Long deptId, int credit, int enrolled) {
+        this(courseId, title, deptId, credit, enrolled, (long) credit * enrolled);
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.student_teacher.dto;
+
+import com.example.student_teacher.entity.Course;
+
+public record CourseView(Long id, String title, int credit, Integer capacity, TeacherRef teacher, DeptView dept) {
+
+    // Used by JPQL constructor expressions over left-joined teacher and dept
+    public CourseView(Long id, String title, int credit, Integer capacity, Long teacherId, String teacherName,
+            Long deptId, String deptName) {
+        this(id, title, credit, capacity, TeacherRef.of(teacherId, teacherName), DeptView.of(deptId, deptName));
+    }
+
+    public static CourseView of(Course course) {
+        return new CourseView(course.getId(), course.getTitle(), course.getCredit(), course.getCapacity(),
+                TeacherRef.of(course.getTeacher()), DeptView.of(course.getDept()));
+    }
+}
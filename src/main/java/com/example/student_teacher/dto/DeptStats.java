@@ -0,0 +1,7 @@
+package com.example.student_teacher.dto;
+
+/**
+ * Enrollment totals of one dept; {@code deptId} and {@code name} are null for courses without one.
+ */
+public record DeptStats(Long deptId, String name, long courses, long enrolled, long creditHours) {
+}
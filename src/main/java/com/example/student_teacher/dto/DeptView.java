@@ -0,0 +1,15 @@
+package com.example.student_teacher.dto;
+
+import com.example.student_teacher.entity.Dept;
+
+public record DeptView(Long id, String name) {
+
+    // Null-safe, so left-joined projections and unassigned entities map to no dept
+    public static DeptView of(Long id, String name) {
+        return id == null ? null : new DeptView(id, name);
+    }
+
+    public static DeptView of(Dept dept) {
+        return dept == null ? null : new DeptView(dept.getId(), dept.getName());
+    }
+}
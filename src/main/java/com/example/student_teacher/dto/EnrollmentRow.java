@@ -0,0 +1,7 @@
+package com.example.student_teacher.dto;
+
+/**
+ * One row of the student_courses join table.
+ */
+public record EnrollmentRow(Long studentId, Long courseId) {
+}
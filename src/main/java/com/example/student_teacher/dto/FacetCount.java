@@ -0,0 +1,11 @@
+package com.example.student_teacher.dto;
+
+/**
+ * How many courses a facet value would match.
+ *
+ * @param facet "dept", "credit" or "teacher"
+ * @param value the dept or teacher id, or the credit value
+ * @param label the dept or teacher name; {@code null} for credits
+ */
+public record FacetCount(String facet, Long value, String label, long count) {
+}
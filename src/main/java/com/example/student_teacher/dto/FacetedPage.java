@@ -0,0 +1,7 @@
+package com.example.student_teacher.dto;
+
+import java.util.List;
+
+// A keyset page of filtered results together with the facet counts for the same filter
+public record FacetedPage<T>(CursorPage<T> page, List<FacetCount> facets) {
+}
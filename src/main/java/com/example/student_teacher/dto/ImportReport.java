@@ -0,0 +1,42 @@
+package com.example.student_teacher.dto;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Outcome of a bulk import: counts for every row, but detail only for the rows that were not
+ * created, so an upload of a hundred thousand good rows does not come back as a hundred thousand
+ * results.
+ */
+public record ImportReport(long total, long created, long skipped, long failed, List<ImportRowResult> rows) {
+
+    /** Counts rows as they are decided, keeping only the ones that were not created. */
+    public static final class Tally {
+
+        private long created;
+        private long skipped;
+        private long failed;
+        private final List<ImportRowResult> rows = new ArrayList<>();
+
+        public void created(int count) {
+            created += count;
+        }
+
+        public void add(ImportRowResult row) {
+            switch (row.status()) {
+                case CREATED -> created++;
+                case DUPLICATE, INVALID -> skipped++;
+                case FAILED -> failed++;
+            }
+            if (row.status() != ImportRowResult.Status.CREATED) {
+                rows.add(row);
+            }
+        }
+
+        public ImportReport report() {
+            rows.sort(Comparator.comparingLong(ImportRowResult::row));
+            return new ImportReport(created + skipped + failed, created, skipped, failed, List.copyOf(rows));
+        }
+    }
+}
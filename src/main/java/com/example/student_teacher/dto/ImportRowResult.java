@@ -0,0 +1,11 @@
+package com.example.student_teacher.dto;
+
+public record ImportRowResult(long row, String email, Status status, Long id, String message) {
+
+    public enum Status {
+        CREATED,
+        DUPLICATE,
+        INVALID,
+        FAILED
+    }
+}
@@ -0,0 +1,5 @@
+package com.example.student_teacher.dto;
+
+// Outcome of checking the seat counters against student_courses
+public record ReconcileReport(int courses, int created, int corrected) {
+}
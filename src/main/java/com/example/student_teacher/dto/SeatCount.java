@@ -0,0 +1,5 @@
+package com.example.student_teacher.dto;
+
+// Number of student_courses rows for one course
+public record SeatCount(Long courseId, long taken) {
+}
@@ -0,0 +1,11 @@
+package com.example.student_teacher.dto;
+
+/**
+ * Live seat usage of a course; {@code capacity} and {@code available} are null when unlimited.
+ */
+public record SeatView(Long courseId, Integer capacity, int taken, Integer available) {
+
+    public static SeatView of(Long courseId, Integer capacity, int taken) {
+        return new SeatView(courseId, capacity, taken, capacity == null ? null : Math.max(0, capacity - taken));
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.student_teacher.dto;
+
+import java.util.List;
+
+import com.example.student_teacher.entity.Role;
+
+public record StudentDetailView(Long id, String name, String email, Role role, DeptView dept,
+        List<CourseView> courses) {
+
+    public static StudentDetailView of(StudentView student, List<CourseView> courses) {
+        return new StudentDetailView(student.id(), student.name(), student.email(), student.role(),
+                student.dept(), courses);
+    }
+}
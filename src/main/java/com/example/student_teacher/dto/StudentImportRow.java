@@ -0,0 +1,7 @@
+package com.example.student_teacher.dto;
+
+/**
+ * One student as it appears in a bulk import file (a CSV line or an NDJSON object).
+ */
+public record StudentImportRow(String name, String email, String password, Long deptId) {
+}
@@ -0,0 +1,21 @@
+package com.example.student_teacher.dto;
+
+import com.example.student_teacher.entity.Role;
+import com.example.student_teacher.entity.Student;
+
+/**
+ * Read model for a student: only the columns the API exposes, never the
+ * password hash or the enrolled course set.
+ */
+public record StudentView(Long id, String name, String email, Role role, DeptView dept) {
+
+    // Used by JPQL constructor expressions over a left-joined dept
+    public StudentView(Long id, String name, String email, Role role, Long deptId, String deptName) {
+        this(id, name, email, role, DeptView.of(deptId, deptName));
+    }
+
+    public static StudentView of(Student student) {
+        return new StudentView(student.getId(), student.getName(), student.getEmail(), student.getRole(),
+                DeptView.of(student.getDept()));
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.student_teacher.dto;
+
+import com.example.student_teacher.entity.Teacher;
+
+/**
+ * The public face of a teacher when nested inside another view.
+ */
+public record TeacherRef(Long id, String name) {
+
+    public static TeacherRef of(Long id, String name) {
+        return id == null ? null : new TeacherRef(id, name);
+    }
+
+    public static TeacherRef of(Teacher teacher) {
+        return teacher == null ? null : new TeacherRef(teacher.getId(), teacher.getName());
+    }
+}
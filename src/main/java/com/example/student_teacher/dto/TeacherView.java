@@ -0,0 +1,11 @@
+package com.example.student_teacher.dto;
+
+import com.example.student_teacher.entity.Role;
+import com.example.student_teacher.entity.Teacher;
+
+public record TeacherView(Long id, String name, String email, Role role) {
+
+    public static TeacherView of(Teacher teacher) {
+        return new TeacherView(teacher.getId(), teacher.getName(), teacher.getEmail(), teacher.getRole());
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.student_teacher.dto;
+
+import java.util.List;
+
+/**
+ * A teacher's courses with enrollments, and the totals over them.
+ */
+public record TeacherWorkload(int courseCount, long totalCredits, long totalEnrolled, List<CourseLoad> courses) {
+
+    public static TeacherWorkload of(List<CourseLoad> courses) {
+        return new TeacherWorkload(courses.size(),
+                courses.stream().mapToLong(CourseLoad::credit).sum(),
+                courses.stream().mapToLong(CourseLoad::enrolled).sum(),
+                courses);
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.student_teacher.entity;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+
+/**
+ * Change counter of one catalog table (course, teacher or dept). Only read through JPA; the
+ * increments are native statements issued before each writing transaction commits.
+ */
+@Entity
+public class CatalogVersion {
+
+    @Id
+    private String name;
+
+    private long version;
+
+    protected CatalogVersion() {
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+}
@@ -1,5 +1,9 @@
 package com.example.student_teacher.entity;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.Id;
@@ -7,6 +11,8 @@ import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "course")
 public class Course {
 
     @Id
@@ -16,6 +22,9 @@ public class Course {
     private String title;
     private int credit;
 
+    // Maximum number of enrolled students; null means unlimited
+    private Integer capacity;
+
     @ManyToOne
     private Teacher teacher;
 
@@ -35,6 +44,10 @@ public class Course {
         return credit;
     }
 
+    public Integer getCapacity() {
+        return capacity;
+    }
+
     public Teacher getTeacher() {
         return teacher;
     }
@@ -51,6 +64,10 @@ public class Course {
         this.credit = credit;
     }
 
+    public void setCapacity(Integer capacity) {
+        this.capacity = capacity;
+    }
+
     public void setTeacher(Teacher teacher) {
         this.teacher = teacher;
     }
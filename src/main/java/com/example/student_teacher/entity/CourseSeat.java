@@ -0,0 +1,34 @@
+package com.example.student_teacher.entity;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+
+/**
+ * Live seat counter for a course. It is kept out of the course row so that
+ * claiming a seat is a single conditional UPDATE on a narrow row, without
+ * touching (or invalidating) the course itself.
+ */
+@Entity
+public class CourseSeat {
+
+    @Id
+    private Long courseId;
+
+    private int taken;
+
+    protected CourseSeat() {
+    }
+
+    public CourseSeat(Long courseId, int taken) {
+        this.courseId = courseId;
+        this.taken = taken;
+    }
+
+    public Long getCourseId() {
+        return courseId;
+    }
+
+    public int getTaken() {
+        return taken;
+    }
+}
@@ -0,0 +1,10 @@
+package com.example.student_teacher.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.student_teacher.entity.CatalogVersion;
+
+@Transactional(readOnly = true)
+public interface CatalogVersionRepository extends JpaRepository<CatalogVersion, String> {
+}
@@ -0,0 +1,25 @@
+package com.example.student_teacher.repository;
+
+import java.util.List;
+
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.student_teacher.dto.CourseFilter;
+import com.example.student_teacher.dto.CourseView;
+import com.example.student_teacher.dto.FacetCount;
+
+/**
+ * Catalog queries whose WHERE clause depends on which filters are set; see {@link Where}.
+ */
+@Transactional(readOnly = true)
+public interface CourseQueries {
+
+    // Keyset page ordered by id, optionally filtered by dept and a case-insensitive title prefix
+    List<CourseView> findCatalogPage(long afterId, Long deptId, String titlePrefix, int limit);
+
+    /**
+     * Counts for every dept, credit value and teacher in one statement. Each facet applies the other
+     * facets' filters but not its own, so picking a dept still shows what the other depts hold.
+     */
+    List<FacetCount> findFacetCounts(CourseFilter filter);
+}
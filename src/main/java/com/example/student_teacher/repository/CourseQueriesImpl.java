@@ -0,0 +1,69 @@
+package com.example.student_teacher.repository;
+
+import static com.example.student_teacher.repository.CourseRepository.COURSE_VIEW;
+import static com.example.student_teacher.repository.CourseRepository.FACET_COUNT;
+
+import java.util.List;
+
+import org.hibernate.jpa.HibernateHints;
+
+import com.example.student_teacher.dto.CourseFilter;
+import com.example.student_teacher.dto.CourseView;
+import com.example.student_teacher.dto.FacetCount;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+
+class CourseQueriesImpl implements CourseQueries {
+
+    private final EntityManager entityManager;
+
+    CourseQueriesImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public List<CourseView> findCatalogPage(long afterId, Long deptId, String titlePrefix, int limit) {
+        Where where = new Where()
+                .and("c.id > :afterId", "afterId", afterId)
+                .and("d.id = :deptId", "deptId", deptId)
+                .and("lower(c.title) like :titlePattern escape '\\'", "titlePattern",
+                        Patterns.prefixOrNull(titlePrefix));
+        return where.bind(entityManager.createQuery(
+                COURSE_VIEW + " from Course c left join c.teacher t left join c.dept d" + where + " order by c.id",
+                CourseView.class))
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public List<FacetCount> findFacetCounts(CourseFilter filter) {
+        Where depts = new Where()
+                .and("c.credit >= :minCredit", "minCredit", filter.minCredit())
+                .and("c.credit <= :maxCredit", "maxCredit", filter.maxCredit())
+                .and("c.teacher.id = :teacherId", "teacherId", filter.teacherId());
+        Where credits = new Where()
+                .and("c.dept.id = :deptId", "deptId", filter.deptId())
+                .and("c.teacher.id = :teacherId", "teacherId", filter.teacherId());
+        Where teachers = new Where()
+                .and("c.dept.id = :deptId", "deptId", filter.deptId())
+                .and("c.credit >= :minCredit", "minCredit", filter.minCredit())
+                .and("c.credit <= :maxCredit", "maxCredit", filter.maxCredit());
+        TypedQuery<FacetCount> query = entityManager.createQuery(
+                FACET_COUNT + "'dept', d.id, d.name, count(c)) from Course c join c.dept d" + depts
+                        + " group by d.id, d.name"
+                        + " union all "
+                        + FACET_COUNT + "'credit', cast(c.credit as Long), cast(null as String), count(c))"
+                        + " from Course c" + credits
+                        + " group by c.credit"
+                        + " union all "
+                        + FACET_COUNT + "'teacher', t.id, t.name, count(c)) from Course c join c.teacher t" + teachers
+                        + " group by t.id, t.name",
+                FacetCount.class)
+                .setHint(HibernateHints.HINT_CACHEABLE, true);
+        depts.bind(query);
+        credits.bind(query);
+        teachers.bind(query);
+        return query.getResultList();
+    }
+}
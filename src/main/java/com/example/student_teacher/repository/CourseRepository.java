@@ -1,13 +1,83 @@
 package com.example.student_teacher.repository;
 
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.example.student_teacher.dto.CourseFilter;
+import com.example.student_teacher.dto.CourseLoad;
+import com.example.student_teacher.dto.CourseView;
+import com.example.student_teacher.dto.TeacherWorkload;
 import com.example.student_teacher.entity.Course;
-import com.example.student_teacher.entity.Teacher;
 
-public interface CourseRepository extends JpaRepository<Course, Long> {
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
 
-    List<Course> findByTeacher(Teacher teacher);
+@Transactional(readOnly = true)
+public interface CourseRepository extends JpaRepository<Course, Long>, JpaSpecificationExecutor<Course>,
+        CourseQueries {
+
+    String FACET_COUNT = "select new com.example.student_teacher.dto.FacetCount(";
+
+    String COURSE_VIEW = "select new com.example.student_teacher.dto.CourseView("
+            + "c.id, c.title, c.credit, c.capacity, t.id, t.name, d.id, d.name)";
+
+    // A teacher's courses with enrollments taken from the seat counters, in one select
+    @Query("select new com.example.student_teacher.dto.CourseLoad(c.id, c.title, c.credit, c.capacity,"
+            + " coalesce(s.taken, 0L)) from Course c left join CourseSeat s on s.courseId = c.id"
+            + " where c.teacher.id = :teacherId order by c.id")
+    List<CourseLoad> findLoadsByTeacherId(@Param("teacherId") Long teacherId);
+
+    default TeacherWorkload findWorkload(Long teacherId) {
+        return TeacherWorkload.of(findLoadsByTeacherId(teacherId));
+    }
+
+    // Full catalog with teacher and dept joined in, instead of one lazy select per row
+    @EntityGraph(attributePaths = {"teacher", "dept"})
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("select c from Course c order by c.id")
+    List<Course> findCatalog();
+
+    // Catalog listings come from the query cache until a course, teacher or dept changes
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query(COURSE_VIEW + " from Course c left join c.teacher t left join c.dept d order by c.id")
+    List<CourseView> findCatalogViews();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(COURSE_VIEW + " from Course c left join c.teacher t left join c.dept d order by c.id")
+    Stream<CourseView> streamCatalogViews();
+
+    @Query(COURSE_VIEW + " from Student s join s.courses c left join c.teacher t left join c.dept d"
+            + " where s.id = :studentId order by c.id")
+    List<CourseView> findViewsByStudentId(@Param("studentId") Long studentId);
+
+    boolean existsByIdAndTeacherEmail(Long id, String email);
+
+    @Query("select c.id from Course c")
+    List<Long> findAllIds();
+
+    @Transactional
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select c from Course c where c.id = :id")
+    Optional<Course> lockById(@Param("id") Long id);
+
+    // Keyset page of the filtered catalog; teacher and dept come in the same select via a fetch graph
+    default List<CourseView> findFilteredPage(CourseFilter filter, long afterId, int limit) {
+        return findBy(CourseSpecs.after(afterId).and(CourseSpecs.matching(filter)),
+                query -> query.sortBy(Sort.by("id")).project("teacher", "dept").limit(limit).all())
+                .stream()
+                .map(CourseView::of)
+                .toList();
+    }
 }
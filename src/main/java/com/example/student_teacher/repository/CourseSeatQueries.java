@@ -0,0 +1,17 @@
+package com.example.student_teacher.repository;
+
+import java.util.List;
+
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.student_teacher.dto.CourseStats;
+
+/**
+ * Statistics queries whose WHERE clause depends on which filters are set; see {@link Where}.
+ */
+@Transactional(readOnly = true)
+public interface CourseSeatQueries {
+
+    // Keyset page of per-course seat counters ordered by course id, optionally filtered by dept
+    List<CourseStats> findCourseStatsPage(long afterId, Long deptId, int limit);
+}
@@ -0,0 +1,30 @@
+package com.example.student_teacher.repository;
+
+import java.util.List;
+
+import com.example.student_teacher.dto.CourseStats;
+
+import jakarta.persistence.EntityManager;
+
+class CourseSeatQueriesImpl implements CourseSeatQueries {
+
+    private final EntityManager entityManager;
+
+    CourseSeatQueriesImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public List<CourseStats> findCourseStatsPage(long afterId, Long deptId, int limit) {
+        Where where = new Where()
+                .and("c.id > :afterId", "afterId", afterId)
+                .and("d.id = :deptId", "deptId", deptId);
+        return where.bind(entityManager.createQuery(
+                "select new com.example.student_teacher.dto.CourseStats(c.id, c.title, d.id, c.credit, coalesce(s.taken, 0))"
+                        + " from Course c left join c.dept d left join CourseSeat s on s.courseId = c.id"
+                        + where + " order by c.id",
+                CourseStats.class))
+                .setMaxResults(limit)
+                .getResultList();
+    }
+}
@@ -0,0 +1,57 @@
+package com.example.student_teacher.repository;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.student_teacher.dto.DeptStats;
+import com.example.student_teacher.entity.CourseSeat;
+
+@Transactional(readOnly = true)
+public interface CourseSeatRepository extends JpaRepository<CourseSeat, Long>, CourseSeatQueries {
+
+    // Atomic check-and-increment: returns 0 when the course is already full
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update CourseSeat s set s.taken = s.taken + 1 where s.courseId = :courseId and s.taken < :capacity")
+    int claimSeat(@Param("courseId") Long courseId, @Param("capacity") int capacity);
+
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update CourseSeat s set s.taken = s.taken - 1 where s.courseId = :courseId and s.taken > 0")
+    int releaseSeat(@Param("courseId") Long courseId);
+
+    // Gives back every seat a student holds, before the student and their enrollments go away
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update CourseSeat s set s.taken = s.taken - 1 where s.taken > 0 and s.courseId in"
+            + " (select c.id from Student st join st.courses c where st.id = :studentId)")
+    int releaseSeatsOfStudent(@Param("studentId") Long studentId);
+
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from CourseSeat s where s.courseId = :courseId")
+    int deleteByCourseId(@Param("courseId") Long courseId);
+
+    // Statistics read the counters, never student_courses, so their cost follows the course count only
+    @Query("select new com.example.student_teacher.dto.DeptStats(d.id, d.name, count(c),"
+            + " coalesce(sum(s.taken), 0L), coalesce(sum(c.credit * s.taken), 0L))"
+            + " from Course c left join c.dept d left join CourseSeat s on s.courseId = c.id"
+            + " group by d.id, d.name order by d.name")
+    List<DeptStats> findDeptStats();
+
+    // Locks the row enrollments claim their seat on, and reads it past any entity already loaded
+    @Transactional
+    @Query(value = "SELECT taken FROM course_seat WHERE course_id = :courseId FOR UPDATE", nativeQuery = true)
+    Optional<Integer> lockTaken(@Param("courseId") Long courseId);
+
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("update CourseSeat s set s.taken = :taken where s.courseId = :courseId")
+    int setTaken(@Param("courseId") Long courseId, @Param("taken") int taken);
+}
@@ -0,0 +1,44 @@
+package com.example.student_teacher.repository;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import com.example.student_teacher.dto.CourseFilter;
+import com.example.student_teacher.entity.Course;
+
+/**
+ * Specifications for the filtered catalog. A {@code null} argument yields a {@code null}
+ * specification, which {@link Specification#where} and {@code and} skip.
+ */
+public final class CourseSpecs {
+
+    private CourseSpecs() {
+    }
+
+    public static Specification<Course> matching(CourseFilter filter) {
+        return Specification.where(inDept(filter.deptId()))
+                .and(creditAtLeast(filter.minCredit()))
+                .and(creditAtMost(filter.maxCredit()))
+                .and(taughtBy(filter.teacherId()));
+    }
+
+    // Keyset cursor: rows after the last id of the previous page
+    public static Specification<Course> after(long afterId) {
+        return (root, query, cb) -> cb.greaterThan(root.get("id"), afterId);
+    }
+
+    public static Specification<Course> inDept(Long deptId) {
+        return deptId == null ? null : (root, query, cb) -> cb.equal(root.get("dept").get("id"), deptId);
+    }
+
+    public static Specification<Course> creditAtLeast(Integer min) {
+        return min == null ? null : (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("credit"), min);
+    }
+
+    public static Specification<Course> creditAtMost(Integer max) {
+        return max == null ? null : (root, query, cb) -> cb.lessThanOrEqualTo(root.get("credit"), max);
+    }
+
+    public static Specification<Course> taughtBy(Long teacherId) {
+        return teacherId == null ? null : (root, query, cb) -> cb.equal(root.get("teacher").get("id"), teacherId);
+    }
+}
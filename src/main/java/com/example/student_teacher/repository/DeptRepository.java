@@ -1,8 +1,26 @@
 package com.example.student_teacher.repository;
 
+import java.util.List;
+
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.transaction.annotation.Transactional;
 
 import com.example.student_teacher.entity.Dept;
 
+import jakarta.persistence.QueryHint;
+
+@Transactional(readOnly = true)
 public interface DeptRepository extends JpaRepository<Dept, Long> {
+
+    // Departments rarely change; the list is served from the query cache
+    @Override
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<Dept> findAll();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("select d.id from Dept d")
+    List<Long> findAllIds();
 }
@@ -0,0 +1,24 @@
+package com.example.student_teacher.repository;
+
+import java.util.Locale;
+
+/**
+ * LIKE pattern helpers shared by the repository query methods.
+ */
+final class Patterns {
+
+    private Patterns() {
+    }
+
+    // Lower-cased "starts with" pattern with LIKE wildcards in the input escaped by '\'
+    static String prefixOrNull(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        String escaped = value.trim().toLowerCase(Locale.ROOT)
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+        return escaped + "%";
+    }
+}
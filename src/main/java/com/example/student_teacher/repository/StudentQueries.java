@@ -0,0 +1,17 @@
+package com.example.student_teacher.repository;
+
+import java.util.List;
+
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.student_teacher.dto.StudentView;
+
+/**
+ * Roster queries whose WHERE clause depends on which filters are set; see {@link Where}.
+ */
+@Transactional(readOnly = true)
+public interface StudentQueries {
+
+    // Keyset page ordered by id, optionally filtered by dept and a case-insensitive name prefix
+    List<StudentView> findRosterPage(long afterId, Long deptId, String namePrefix, int limit);
+}
@@ -0,0 +1,29 @@
+package com.example.student_teacher.repository;
+
+import static com.example.student_teacher.repository.StudentRepository.STUDENT_VIEW;
+
+import java.util.List;
+
+import com.example.student_teacher.dto.StudentView;
+
+import jakarta.persistence.EntityManager;
+
+class StudentQueriesImpl implements StudentQueries {
+
+    private final EntityManager entityManager;
+
+    StudentQueriesImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public List<StudentView> findRosterPage(long afterId, Long deptId, String namePrefix, int limit) {
+        Where where = new Where()
+                .and("s.id > :afterId", "afterId", afterId)
+                .and("d.id = :deptId", "deptId", deptId)
+                .and("lower(s.name) like :namePattern escape '\\'", "namePattern", Patterns.prefixOrNull(namePrefix));
+        return where.bind(entityManager.createQuery(STUDENT_VIEW + where + " order by s.id", StudentView.class))
+                .setMaxResults(limit)
+                .getResultList();
+    }
+}
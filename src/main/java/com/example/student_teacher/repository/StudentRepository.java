@@ -1,10 +1,116 @@
 package com.example.student_teacher.repository;
 
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.student_teacher.dto.Account;
+import com.example.student_teacher.dto.EnrollmentRow;
+import com.example.student_teacher.dto.SeatCount;
+import com.example.student_teacher.dto.StudentView;
 import com.example.student_teacher.entity.Student;
-import java.util.Optional;
 
-public interface StudentRepository extends JpaRepository<Student, Long> {
+import jakarta.persistence.QueryHint;
+
+// Read-only by default, so plain reads can be served by a read replica (app.datasource.replicas)
+@Transactional(readOnly = true)
+public interface StudentRepository extends JpaRepository<Student, Long>, StudentQueries {
+
+    String STUDENT_VIEW = "select new com.example.student_teacher.dto.StudentView("
+            + "s.id, s.name, s.email, s.role, d.id, d.name) from Student s left join s.dept d";
+
     Optional<Student> findByEmail(String email);
+
+    // Everything the student dashboard renders, fetched in a single joined select
+    @EntityGraph(attributePaths = {"dept", "courses", "courses.teacher", "courses.dept"})
+    Optional<Student> findWithCoursesByEmail(String email);
+
+    @EntityGraph(attributePaths = {"dept", "courses", "courses.teacher", "courses.dept"})
+    Optional<Student> findWithCoursesById(Long id);
+
+    @Query("select s.id from Student s where s.email = :email")
+    Optional<Long> findIdByEmail(@Param("email") String email);
+
+    // Login lookup across both account tables; the role follows from the table the email was found in
+    @Query("select new com.example.student_teacher.dto.Account(s.id, s.email, s.password,"
+            + " com.example.student_teacher.entity.Role.STUDENT) from Student s where s.email = :email"
+            + " union all"
+            + " select new com.example.student_teacher.dto.Account(t.id, t.email, t.password,"
+            + " com.example.student_teacher.entity.Role.TEACHER) from Teacher t where t.email = :email")
+    List<Account> findAccountsByEmail(@Param("email") String email);
+
+    // An email present in both tables resolves to the student, as the old two-step lookup did
+    default Optional<Account> findAccountByEmail(String email) {
+        return findAccountsByEmail(email).stream().min(Comparator.comparing(Account::role));
+    }
+
+    // Which of the given emails are already taken, in one IN-list probe of the unique email index
+    @Query("select s.email from Student s where s.email in :emails")
+    Set<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    @Query(STUDENT_VIEW + " where s.email = :email")
+    Optional<StudentView> findViewByEmail(@Param("email") String email);
+
+    @Query(STUDENT_VIEW + " where s.id = :id")
+    Optional<StudentView> findViewById(@Param("id") Long id);
+
+    @Query(STUDENT_VIEW + " order by s.id")
+    List<StudentView> findAllViews();
+
+    // Forward-only cursors for exports: rows are fetched from the driver 500 at a time
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(STUDENT_VIEW + " order by s.id")
+    Stream<StudentView> streamAllViews();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("select new com.example.student_teacher.dto.EnrollmentRow(s.id, c.id)"
+            + " from Student s join s.courses c order by s.id, c.id")
+    Stream<EnrollmentRow> streamEnrollments();
+
+    // Unlinks a course from every student in one statement, without loading any Student.
+    // Native writes name the table they touch so Hibernate doesn't drop every cache region.
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "student_courses"))
+    @Query(value = "DELETE FROM student_courses WHERE course_id = :courseId", nativeQuery = true)
+    int deleteEnrollmentsByCourseId(@Param("courseId") Long courseId);
+
+    // Enrollment rows are written directly, so enrolling never loads the student's course set
+    @Query(value = "SELECT COUNT(*) FROM student_courses WHERE student_id = :studentId AND course_id = :courseId",
+            nativeQuery = true)
+    int countEnrollment(@Param("studentId") Long studentId, @Param("courseId") Long courseId);
+
+    @Query(value = "SELECT COUNT(*) FROM student_courses WHERE course_id = :courseId", nativeQuery = true)
+    int countEnrollmentsByCourseId(@Param("courseId") Long courseId);
+
+    // Full recount of every course's enrollments; only the reconciliation job should need this
+    @Query("select new com.example.student_teacher.dto.SeatCount(c.id, count(s)) from Student s join s.courses c"
+            + " group by c.id")
+    List<SeatCount> countEnrollmentsPerCourse();
+
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "student_courses"))
+    @Query(value = "INSERT INTO student_courses (student_id, course_id) VALUES (:studentId, :courseId)",
+            nativeQuery = true)
+    int insertEnrollment(@Param("studentId") Long studentId, @Param("courseId") Long courseId);
+
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "student_courses"))
+    @Query(value = "DELETE FROM student_courses WHERE student_id = :studentId AND course_id = :courseId",
+            nativeQuery = true)
+    int deleteEnrollment(@Param("studentId") Long studentId, @Param("courseId") Long courseId);
 }
@@ -2,9 +2,11 @@ package com.example.student_teacher.repository;
 
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.transaction.annotation.Transactional;
 import com.example.student_teacher.entity.Teacher;
 import java.util.Optional;
 
+@Transactional(readOnly = true)
 public interface TeacherRepository extends JpaRepository<Teacher, Long> {
     Optional<Teacher> findByEmail(String email);
 }
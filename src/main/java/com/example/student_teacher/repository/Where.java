@@ -0,0 +1,37 @@
+package com.example.student_teacher.repository;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.StringJoiner;
+
+import jakarta.persistence.TypedQuery;
+
+/**
+ * A JPQL WHERE clause holding only the conditions whose parameter is set. Queries built from it get
+ * a statement, and a cached plan, per filter combination instead of one generic
+ * {@code (:p is null or ...)} plan that cannot use the filters' indexes.
+ */
+final class Where {
+
+    private final StringJoiner conditions = new StringJoiner(" and ", " where ", "").setEmptyValue("");
+    private final Map<String, Object> parameters = new LinkedHashMap<>();
+
+    // Adds the condition, which refers to :name, only when value is not null
+    Where and(String condition, String name, Object value) {
+        if (value != null) {
+            conditions.add(condition);
+            parameters.put(name, value);
+        }
+        return this;
+    }
+
+    <T> TypedQuery<T> bind(TypedQuery<T> query) {
+        parameters.forEach(query::setParameter);
+        return query;
+    }
+
+    @Override
+    public String toString() {
+        return conditions.toString();
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.student_teacher.security;
+
+import java.security.Principal;
+import java.util.Optional;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.userdetails.User;
+
+import com.example.student_teacher.dto.Account;
+import com.example.student_teacher.entity.Role;
+
+/**
+ * The logged-in user, carrying the entity id and role so handlers don't look the account up by email again.
+ */
+public class AccountPrincipal extends User {
+
+    private final Long id;
+    private final Role role;
+
+    public AccountPrincipal(Account account) {
+        super(account.email(), account.password(),
+                AuthorityUtils.createAuthorityList("ROLE_" + account.role().name()));
+        this.id = account.id();
+        this.role = account.role();
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Role getRole() {
+        return role;
+    }
+
+    // Empty when the principal wasn't built by CustomUserDetailsService or belongs to another role
+    public static Optional<Long> idOf(Principal principal, Role role) {
+        if (principal instanceof Authentication auth && auth.getPrincipal() instanceof AccountPrincipal account
+                && account.role == role) {
+            return Optional.of(account.id);
+        }
+        return Optional.empty();
+    }
+}
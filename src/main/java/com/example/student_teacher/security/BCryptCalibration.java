@@ -0,0 +1,42 @@
+package com.example.student_teacher.security;
+
+import java.time.Duration;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+/**
+ * Picks the BCrypt work factor for this machine: the highest cost whose hash still fits the target
+ * latency, but never below the given minimum.
+ */
+public final class BCryptCalibration {
+
+    private static final Logger log = LoggerFactory.getLogger(BCryptCalibration.class);
+
+    private BCryptCalibration() {
+    }
+
+    public static int strengthFor(Duration target, int minStrength, int maxStrength) {
+        String sample = "calibration-sample-password";
+        // Warm up the JIT so the first measurement isn't dominated by interpretation
+        new BCryptPasswordEncoder(4).encode(sample);
+
+        int strength = minStrength;
+        for (int candidate = minStrength; candidate <= maxStrength; candidate++) {
+            long start = System.nanoTime();
+            new BCryptPasswordEncoder(candidate).encode(sample);
+            Duration took = Duration.ofNanos(System.nanoTime() - start);
+            if (took.compareTo(target) > 0 && candidate > minStrength) {
+                break;
+            }
+            strength = candidate;
+            // Each step doubles the cost, so stop before measuring one that is bound to overshoot
+            if (took.multipliedBy(2).compareTo(target) > 0) {
+                break;
+            }
+        }
+        log.info("BCrypt strength {} selected for a target hash time of {} ms", strength, target.toMillis());
+        return strength;
+    }
+}
@@ -1,56 +1,66 @@
 package com.example.student_teacher.security;
 
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
-import com.example.student_teacher.entity.Student;
-import com.example.student_teacher.entity.Teacher;
+import com.example.student_teacher.dto.Account;
 import com.example.student_teacher.repository.StudentRepository;
 import com.example.student_teacher.repository.TeacherRepository;
 
-import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.util.Optional;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 
 @Service
-public class CustomUserDetailsService implements UserDetailsService {
+public class CustomUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     private final StudentRepository studentRepository;
     private final TeacherRepository teacherRepository;
+    private final Timer lookupsFound;
+    private final Timer lookupsNotFound;
 
     public CustomUserDetailsService(StudentRepository studentRepository,
-                                    TeacherRepository teacherRepository) {
+                                    TeacherRepository teacherRepository,
+                                    MeterRegistry meterRegistry) {
         this.studentRepository = studentRepository;
         this.teacherRepository = teacherRepository;
+        this.lookupsFound = Timer.builder("app.login.lookup").tag("result", "found").register(meterRegistry);
+        this.lookupsNotFound = Timer.builder("app.login.lookup").tag("result", "not_found").register(meterRegistry);
     }
 
     @Override
     public UserDetails loadUserByUsername(String email)
             throws UsernameNotFoundException {
 
-        // 1️⃣ Check STUDENT table
-        Optional<Student> student = studentRepository.findByEmail(email);
-        if (student.isPresent()) {
-            return User.builder()
-                    .username(student.get().getEmail())
-                    .password(student.get().getPassword())
-                    .roles("STUDENT")   // → ROLE_STUDENT
-                    .build();
-        }
+        // Student and teacher tables are probed in one round trip, each through its unique email index
+        long start = System.nanoTime();
+        Optional<Account> account = studentRepository.findAccountByEmail(email);
+        Timer timer = account.isPresent() ? lookupsFound : lookupsNotFound;
+        timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return account
+                .map(AccountPrincipal::new)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
+    }
 
-        // 2️⃣ Check TEACHER table
-        Optional<Teacher> teacher = teacherRepository.findByEmail(email);
-        if (teacher.isPresent()) {
-            return User.builder()
-                    .username(teacher.get().getEmail())
-                    .password(teacher.get().getPassword())
-                    .roles("TEACHER")   // → ROLE_TEACHER
-                    .build();
+    // Called after a successful login whose stored hash is unprefixed or below the current cost
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        if (!(user instanceof AccountPrincipal account)) {
+            return user;
         }
-
-        // 3️⃣ Not found
-        throw new UsernameNotFoundException("User not found with email: " + email);
+        switch (account.getRole()) {
+            case STUDENT -> studentRepository.findById(account.getId())
+                    .ifPresent(student -> student.setPassword(newPassword));
+            case TEACHER -> teacherRepository.findById(account.getId())
+                    .ifPresent(teacher -> teacher.setPassword(newPassword));
+        }
+        return new AccountPrincipal(new Account(account.getId(), account.getUsername(), newPassword, account.getRole()));
     }
 }
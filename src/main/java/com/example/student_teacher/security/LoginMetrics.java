@@ -0,0 +1,38 @@
+package com.example.student_teacher.security;
+
+import org.springframework.context.event.EventListener;
+import org.springframework.security.authentication.event.AbstractAuthenticationFailureEvent;
+import org.springframework.security.authentication.event.AuthenticationSuccessEvent;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Counts login outcomes as app.logins, tagged result=success or result=failure with the exception
+ * as the reason (bad credentials, a full hashing queue, ...). The end-to-end login latency is
+ * Spring Security's spring.security.authentications timer.
+ */
+@Component
+public class LoginMetrics {
+
+    private final MeterRegistry registry;
+    private final Counter successes;
+
+    public LoginMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        this.successes = Counter.builder("app.logins").tag("result", "success").tag("reason", "none")
+                .register(registry);
+    }
+
+    @EventListener
+    public void onSuccess(AuthenticationSuccessEvent event) {
+        successes.increment();
+    }
+
+    @EventListener
+    public void onFailure(AbstractAuthenticationFailureEvent event) {
+        registry.counter("app.logins", "result", "failure",
+                "reason", event.getException().getClass().getSimpleName()).increment();
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.student_teacher.service;
+
+/**
+ * Published after a transaction that inserted, updated or deleted a Course, Teacher or Dept has
+ * committed. Listeners run on the committing thread, so they should only do in-memory work.
+ *
+ * @param entity the entity as written; for deletes, its last loaded state
+ */
+public record CatalogChangedEvent(Change change, Class<?> type, Object id, Object entity) {
+
+    public enum Change {
+        INSERT,
+        UPDATE,
+        DELETE
+    }
+}
@@ -0,0 +1,64 @@
+package com.example.student_teacher.service;
+
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.thymeleaf.ITemplateEngine;
+import org.thymeleaf.context.Context;
+
+import com.example.student_teacher.config.ReadReplicas;
+import com.example.student_teacher.dto.CatalogRow;
+import com.example.student_teacher.entity.Course;
+import com.example.student_teacher.entity.Teacher;
+import com.example.student_teacher.repository.CourseRepository;
+
+/**
+ * The shared part of the student dashboard's course table, rendered to HTML once per catalog
+ * version and reused by every student until a course or teacher changes. The version is the one
+ * in the database, so an edit made through any instance re-renders the rows on all of them.
+ * Per-student state (the enroll button) is rendered around these rows on each request.
+ */
+@Component
+public class CatalogFragmentCache {
+
+    private final CourseRepository courseRepo;
+    private final CatalogVersions catalogVersions;
+    private final ITemplateEngine templateEngine;
+
+    private volatile Snapshot snapshot;
+
+    public CatalogFragmentCache(CourseRepository courseRepo, CatalogVersions catalogVersions,
+            ITemplateEngine templateEngine) {
+        this.courseRepo = courseRepo;
+        this.catalogVersions = catalogVersions;
+        this.templateEngine = templateEngine;
+    }
+
+    public List<CatalogRow> rows() {
+        // Read the version before the data: a write landing in between leaves an already-stale key
+        String version = catalogVersions.etag(Course.class, Teacher.class);
+        Snapshot current = snapshot;
+        if (current != null && current.version().equals(version)) {
+            return current.rows();
+        }
+
+        List<CatalogRow> rows = ReadReplicas.fromPrimary(courseRepo::findCatalog).stream().map(this::render).toList();
+        // Inside a caller's transaction the read may include its own uncommitted writes; don't share it
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            snapshot = new Snapshot(version, rows);
+        }
+        return rows;
+    }
+
+    private CatalogRow render(Course course) {
+        Context context = new Context();
+        context.setVariable("course", course);
+        String cells = templateEngine.process("fragments/catalog-row", Set.of("cells"), context);
+        return new CatalogRow(course.getId(), cells);
+    }
+
+    private record Snapshot(String version, List<CatalogRow> rows) {
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.student_teacher.service;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.hibernate.SessionFactory;
+import org.springframework.stereotype.Component;
+
+import com.example.student_teacher.config.ReadReplicas;
+import com.example.student_teacher.entity.CatalogVersion;
+import com.example.student_teacher.entity.Course;
+import com.example.student_teacher.entity.Dept;
+import com.example.student_teacher.entity.Teacher;
+import com.example.student_teacher.repository.CatalogVersionRepository;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Per-table change counters for the catalog tables, kept in the catalog_version table and bumped
+ * inside every transaction that writes one of them (see {@code CatalogChangeListener}). They make
+ * cheap validators: an ETag built from them changes exactly when the data behind a response may
+ * have, whichever instance made the write. A version this instance has not seen before also evicts
+ * that table's entities and the query results from the local second-level cache, which only follows
+ * this instance's own writes: a response under the new tag is then never built from older rows.
+ */
+@Component
+public class CatalogVersions {
+
+    private static final Map<String, Class<?>> TYPES = Stream.of(Course.class, Teacher.class, Dept.class)
+            .collect(Collectors.toMap(CatalogVersions::name, Function.identity()));
+
+    private final CatalogVersionRepository versionRepo;
+    private final EntityManagerFactory entityManagerFactory;
+    // Highest version of each table this instance has seen
+    private final Map<String, Long> seen = new ConcurrentHashMap<>();
+
+    public CatalogVersions(CatalogVersionRepository versionRepo, EntityManagerFactory entityManagerFactory) {
+        this.versionRepo = versionRepo;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    /** The catalog_version row counting writes to {@code type}'s table. */
+    public static String name(Class<?> type) {
+        return type.getSimpleName().toLowerCase(Locale.ROOT);
+    }
+
+    // Read the tag before loading the data: a write landing in between then costs a 200, never a stale 304.
+    // From the primary, since a replica that is behind would hand out a tag for data it lacks.
+    public String etag(Class<?>... types) {
+        Map<String, Long> versions = ReadReplicas.fromPrimary(versionRepo::findAll).stream()
+                .collect(Collectors.toMap(CatalogVersion::getName, CatalogVersion::getVersion));
+        versions.forEach(this::evictIfNew);
+        StringBuilder tag = new StringBuilder("\"v");
+        for (Class<?> type : types) {
+            tag.append('-').append(versions.getOrDefault(name(type), 0L));
+        }
+        return tag.append('"').toString();
+    }
+
+    private void evictIfNew(String name, long version) {
+        Long previous = seen.get(name);
+        if (previous != null && previous >= version) {
+            return;
+        }
+        seen.merge(name, version, Math::max);
+        Class<?> type = TYPES.get(name);
+        if (type != null) {
+            entityManagerFactory.getCache().evict(type);
+            entityManagerFactory.unwrap(SessionFactory.class).getCache().evictQueryRegions();
+        }
+    }
+}
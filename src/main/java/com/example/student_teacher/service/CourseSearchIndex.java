@@ -0,0 +1,324 @@
+package com.example.student_teacher.service;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+import org.hibernate.Hibernate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.example.student_teacher.config.ReadReplicas;
+import com.example.student_teacher.dto.CourseView;
+import com.example.student_teacher.dto.DeptView;
+import com.example.student_teacher.dto.TeacherRef;
+import com.example.student_teacher.entity.Course;
+import com.example.student_teacher.entity.Dept;
+import com.example.student_teacher.entity.Teacher;
+import com.example.student_teacher.repository.CourseRepository;
+
+/**
+ * In-memory trigram index over course title, teacher name and dept name. Built at startup and then
+ * kept current from {@link CatalogChangedEvent}s, so searches never touch the database. Those events
+ * only reach the instance that made the change, so the index is also reloaded every
+ * app.search.rebuild-ms: with several instances, another one's catalog edits show up within that.
+ * Every word is indexed as pg_trgm-style trigrams; the last query word only has to match the start
+ * of a word (typeahead). A course must contain the first trigrams of every query word, and enough of
+ * the rest (typos), so a longer query never matches a course a shorter one would not.
+ */
+@Component
+public class CourseSearchIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(CourseSearchIndex.class);
+    private static final Pattern MARKS = Pattern.compile("\\p{M}");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+    // The first trigrams of each query word ("  j", " ja", "jav") must all match: typos are only
+    // tolerated after them
+    private static final int EXACT_TRIGRAMS = 3;
+    // Share of each word's remaining trigrams a course must contain; lets a typo or two through
+    private static final double MIN_SIMILARITY = 0.5;
+
+    private final CourseRepository courseRepo;
+    private final CatalogVersions catalogVersions;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<Long, Entry> courses = new HashMap<>();
+    private final Map<String, Set<Long>> postings = new HashMap<>();
+    private final Map<Long, String> teacherNames = new HashMap<>();
+    private final Map<Long, String> deptNames = new HashMap<>();
+
+    public CourseSearchIndex(CourseRepository courseRepo, CatalogVersions catalogVersions) {
+        this.courseRepo = courseRepo;
+        this.catalogVersions = catalogVersions;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void build() {
+        long start = System.nanoTime();
+        // Loaded under the write lock, so change events racing the build are applied after it
+        lock.writeLock().lock();
+        try {
+            replace(ReadReplicas.fromPrimary(courseRepo::findCatalogViews));
+        } finally {
+            lock.writeLock().unlock();
+        }
+        Stats stats = stats();
+        log.info("Course search index built in {} ms: {} courses, {} trigrams, {} postings, ~{} KB",
+                (System.nanoTime() - start) / 1_000_000, stats.courses(), stats.trigrams(), stats.postings(),
+                stats.estimatedBytes() / 1024);
+    }
+
+    // Loads outside the lock so searches keep running; a change event during the load means the rows
+    // may predate it, and the reload is left to the next run
+    @Scheduled(fixedDelayString = "${app.search.rebuild-ms:300000}",
+            initialDelayString = "${app.search.rebuild-ms:300000}")
+    public void reload() {
+        String version = catalogVersions.etag(Course.class, Teacher.class, Dept.class);
+        List<CourseView> views = ReadReplicas.fromPrimary(courseRepo::findCatalogViews);
+        lock.writeLock().lock();
+        try {
+            if (!version.equals(catalogVersions.etag(Course.class, Teacher.class, Dept.class))) {
+                log.debug("Course search index reload skipped: the catalog changed while loading");
+                return;
+            }
+            replace(views);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @EventListener
+    public void onCatalogChanged(CatalogChangedEvent event) {
+        lock.writeLock().lock();
+        try {
+            if (event.type() == Course.class) {
+                if (event.change() == CatalogChangedEvent.Change.DELETE) {
+                    remove((Long) event.id());
+                } else {
+                    put(viewOf((Course) event.entity()));
+                }
+            } else if (event.type() == Teacher.class) {
+                Teacher teacher = (Teacher) event.entity();
+                rename(teacherNames, teacher.getId(), event.change() == CatalogChangedEvent.Change.DELETE
+                        ? null : teacher.getName(), true);
+            } else if (event.type() == Dept.class) {
+                Dept dept = (Dept) event.entity();
+                rename(deptNames, dept.getId(), event.change() == CatalogChangedEvent.Change.DELETE
+                        ? null : dept.getName(), false);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Best matches first: courses containing more of the query's trigrams, then those where every
+     * query word starts a word of the course, then by title.
+     */
+    public List<CourseView> search(String query, int limit) {
+        List<String> words = words(query);
+        if (words.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        Set<String> exact = new LinkedHashSet<>();
+        Set<String> fuzzy = new LinkedHashSet<>();
+        for (int i = 0; i < words.size(); i++) {
+            String word = words.get(i);
+            List<String> trigrams = List.copyOf(i == words.size() - 1 ? prefixTrigrams(word) : trigrams(word));
+            int split = Math.min(EXACT_TRIGRAMS, trigrams.size());
+            exact.addAll(trigrams.subList(0, split));
+            fuzzy.addAll(trigrams.subList(split, trigrams.size()));
+        }
+        fuzzy.removeAll(exact);
+        int needed = (int) Math.ceil(fuzzy.size() * MIN_SIMILARITY);
+
+        lock.readLock().lock();
+        try {
+            Set<Long> candidates = null;
+            for (String trigram : exact) {
+                Set<Long> ids = postings.getOrDefault(trigram, Set.of());
+                if (candidates == null) {
+                    candidates = new HashSet<>(ids);
+                } else {
+                    candidates.retainAll(ids);
+                }
+                if (candidates.isEmpty()) {
+                    return List.of();
+                }
+            }
+            List<Match> matches = new ArrayList<>();
+            for (Long id : candidates) {
+                Entry entry = courses.get(id);
+                int hits = (int) fuzzy.stream().filter(entry.trigrams()::contains).count();
+                if (hits >= needed) {
+                    matches.add(new Match(entry.view(), exact.size() + hits, entry.startsAllWords(words)));
+                }
+            }
+            return matches.stream()
+                    .sorted(Comparator.comparingInt(Match::hits).reversed()
+                            .thenComparing(Match::prefixMatch, Comparator.reverseOrder())
+                            .thenComparing(m -> m.view().title(), Comparator.nullsLast(Comparator.naturalOrder())))
+                    .limit(limit)
+                    .map(Match::view)
+                    .toList();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Size of the index. The byte figure is a rough estimate of the postings and entries on a
+     * 64-bit JVM with compressed oops, for capacity planning rather than accounting.
+     */
+    public Stats stats() {
+        lock.readLock().lock();
+        try {
+            long postingCount = postings.values().stream().mapToLong(Set::size).sum();
+            long bytes = postings.size() * 120L + postingCount * 56L + courses.size() * 400L;
+            return new Stats(courses.size(), postings.size(), postingCount, bytes);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Ids of unloaded teacher/dept proxies are safe to read; their names come from what we have indexed
+    private CourseView viewOf(Course course) {
+        Teacher teacher = course.getTeacher();
+        Dept dept = course.getDept();
+        TeacherRef teacherRef = teacher == null ? null : TeacherRef.of(teacher.getId(),
+                Hibernate.isInitialized(teacher) ? teacher.getName() : teacherNames.get(teacher.getId()));
+        DeptView deptView = dept == null ? null : DeptView.of(dept.getId(),
+                Hibernate.isInitialized(dept) ? dept.getName() : deptNames.get(dept.getId()));
+        return new CourseView(course.getId(), course.getTitle(), course.getCredit(), course.getCapacity(),
+                teacherRef, deptView);
+    }
+
+    private void replace(List<CourseView> views) {
+        courses.clear();
+        postings.clear();
+        teacherNames.clear();
+        deptNames.clear();
+        views.forEach(this::put);
+    }
+
+    private void put(CourseView view) {
+        remove(view.id());
+        if (view.teacher() != null && view.teacher().name() != null) {
+            teacherNames.put(view.teacher().id(), view.teacher().name());
+        }
+        if (view.dept() != null && view.dept().name() != null) {
+            deptNames.put(view.dept().id(), view.dept().name());
+        }
+        Entry entry = Entry.of(view);
+        courses.put(view.id(), entry);
+        for (String trigram : entry.trigrams()) {
+            postings.computeIfAbsent(trigram, t -> new HashSet<>()).add(view.id());
+        }
+    }
+
+    private void remove(Long courseId) {
+        Entry entry = courses.remove(courseId);
+        if (entry == null) {
+            return;
+        }
+        for (String trigram : entry.trigrams()) {
+            Set<Long> ids = postings.get(trigram);
+            ids.remove(courseId);
+            if (ids.isEmpty()) {
+                postings.remove(trigram);
+            }
+        }
+    }
+
+    // A renamed teacher or dept re-indexes just the courses that show that name
+    private void rename(Map<Long, String> names, Long id, String name, boolean teacher) {
+        if (name == null) {
+            names.remove(id);
+            return;
+        }
+        if (name.equals(names.put(id, name))) {
+            return;
+        }
+        List<CourseView> affected = courses.values().stream()
+                .map(Entry::view)
+                .filter(v -> teacher
+                        ? v.teacher() != null && id.equals(v.teacher().id())
+                        : v.dept() != null && id.equals(v.dept().id()))
+                .toList();
+        for (CourseView view : affected) {
+            put(teacher
+                    ? new CourseView(view.id(), view.title(), view.credit(), view.capacity(),
+                            TeacherRef.of(id, name), view.dept())
+                    : new CourseView(view.id(), view.title(), view.credit(), view.capacity(),
+                            view.teacher(), DeptView.of(id, name)));
+        }
+    }
+
+    // Lower-cased, accent-free words
+    static List<String> words(String text) {
+        if (text == null) {
+            return List.of();
+        }
+        String folded = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        return SEPARATORS.splitAsStream(folded).filter(w -> !w.isEmpty()).toList();
+    }
+
+    // "  java " -> "  j", " ja", "jav", "ava", "va "
+    static Set<String> trigrams(String word) {
+        return slide("  " + word + " ");
+    }
+
+    // Only the start of a word, so "jav" matches "java" but also "javascript"
+    static Set<String> prefixTrigrams(String word) {
+        return slide("  " + word);
+    }
+
+    private static Set<String> slide(String padded) {
+        Set<String> trigrams = new LinkedHashSet<>();
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            trigrams.add(padded.substring(i, i + 3));
+        }
+        return trigrams;
+    }
+
+    public record Stats(int courses, int trigrams, long postings, long estimatedBytes) {
+    }
+
+    private record Entry(CourseView view, List<String> words, Set<String> trigrams) {
+
+        static Entry of(CourseView view) {
+            List<String> words = new ArrayList<>(CourseSearchIndex.words(view.title()));
+            if (view.teacher() != null) {
+                words.addAll(CourseSearchIndex.words(view.teacher().name()));
+            }
+            if (view.dept() != null) {
+                words.addAll(CourseSearchIndex.words(view.dept().name()));
+            }
+            Set<String> trigrams = new HashSet<>();
+            words.forEach(w -> trigrams.addAll(CourseSearchIndex.trigrams(w)));
+            return new Entry(view, List.copyOf(words), trigrams);
+        }
+
+        boolean startsAllWords(List<String> query) {
+            return query.stream().allMatch(q -> words.stream().anyMatch(w -> w.startsWith(q)));
+        }
+    }
+
+    private record Match(CourseView view, int hits, boolean prefixMatch) {
+    }
+}
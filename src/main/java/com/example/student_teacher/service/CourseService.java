@@ -0,0 +1,53 @@
+package com.example.student_teacher.service;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.student_teacher.entity.Course;
+import com.example.student_teacher.entity.CourseSeat;
+import com.example.student_teacher.repository.CourseRepository;
+import com.example.student_teacher.repository.CourseSeatRepository;
+import com.example.student_teacher.repository.StudentRepository;
+
+@Service
+public class CourseService {
+
+    private final CourseRepository courseRepo;
+    private final StudentRepository studentRepo;
+    private final CourseSeatRepository seatRepo;
+
+    public CourseService(CourseRepository courseRepo, StudentRepository studentRepo,
+            CourseSeatRepository seatRepo) {
+        this.courseRepo = courseRepo;
+        this.studentRepo = studentRepo;
+        this.seatRepo = seatRepo;
+    }
+
+    // Saves a new course together with its empty seat counter
+    @Transactional
+    public Course createCourse(Course course) {
+        Course saved = courseRepo.save(course);
+        if (!seatRepo.existsById(saved.getId())) {
+            seatRepo.save(new CourseSeat(saved.getId(), 0));
+        }
+        return saved;
+    }
+
+    /**
+     * Removes a course together with its enrollments and seat counter. Enrollments and the counter
+     * go with set-based statements, so no Student entity is ever loaded; the course itself is
+     * removed as an entity (usually straight from the second-level cache) so that catalog change
+     * listeners see the delete.
+     *
+     * @return the number of enrollments that were dropped
+     */
+    @Transactional
+    public int deleteCourse(Long courseId) {
+        Course course = courseRepo.findById(courseId)
+                .orElseThrow(() -> new RuntimeException("Course not found"));
+        int enrollments = studentRepo.deleteEnrollmentsByCourseId(courseId);
+        seatRepo.deleteByCourseId(courseId);
+        courseRepo.delete(course);
+        return enrollments;
+    }
+}
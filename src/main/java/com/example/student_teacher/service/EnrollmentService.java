@@ -0,0 +1,116 @@
+package com.example.student_teacher.service;
+
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.student_teacher.config.ReadReplicas;
+import com.example.student_teacher.dto.SeatView;
+import com.example.student_teacher.entity.Course;
+import com.example.student_teacher.entity.CourseSeat;
+import com.example.student_teacher.repository.CourseRepository;
+import com.example.student_teacher.repository.CourseSeatRepository;
+import com.example.student_teacher.repository.StudentRepository;
+
+/**
+ * Enrollment with seat allocation. A seat is claimed with one conditional
+ * UPDATE on the course's counter row, so concurrent registrations for the
+ * same course serialize on that single row only and can never oversubscribe
+ * it. The enrollment row is written in the same transaction; if that insert
+ * fails (e.g. a double click racing itself) the claimed seat rolls back too,
+ * and the duplicate is answered as ALREADY_ENROLLED.
+ */
+@Service
+public class EnrollmentService {
+
+    public enum Result {
+        ENROLLED,
+        ALREADY_ENROLLED,
+        FULL,
+        COURSE_NOT_FOUND
+    }
+
+    private final StudentRepository studentRepo;
+    private final CourseRepository courseRepo;
+    private final CourseSeatRepository seatRepo;
+    private final TransactionTemplate transactionTemplate;
+
+    public EnrollmentService(StudentRepository studentRepo, CourseRepository courseRepo,
+            CourseSeatRepository seatRepo, PlatformTransactionManager transactionManager) {
+        this.studentRepo = studentRepo;
+        this.courseRepo = courseRepo;
+        this.seatRepo = seatRepo;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public Result enroll(Long studentId, Long courseId) {
+        try {
+            return transactionTemplate.execute(status -> claimAndEnroll(studentId, courseId));
+        } catch (DataIntegrityViolationException e) {
+            // A concurrent request for the same student and course committed first; the
+            // transaction has rolled back, so the check runs on a fresh one. On the primary: a
+            // replica may not have that enrollment yet.
+            if (ReadReplicas.fromPrimary(() -> studentRepo.countEnrollment(studentId, courseId)) > 0) {
+                return Result.ALREADY_ENROLLED;
+            }
+            throw e;
+        }
+    }
+
+    private Result claimAndEnroll(Long studentId, Long courseId) {
+        Course course = courseRepo.findById(courseId).orElse(null);
+        if (course == null) {
+            return Result.COURSE_NOT_FOUND;
+        }
+        if (studentRepo.countEnrollment(studentId, courseId) > 0) {
+            return Result.ALREADY_ENROLLED;
+        }
+
+        int capacity = course.getCapacity() == null ? Integer.MAX_VALUE : course.getCapacity();
+        if (seatRepo.claimSeat(courseId, capacity) == 0) {
+            if (seatRepo.existsById(courseId)) {
+                return Result.FULL;
+            }
+            // Courses created before seat tracking get their counter on first enrollment. The course
+            // row lock makes concurrent first enrollments wait for one another instead of racing
+            // to insert the same counter row.
+            courseRepo.lockById(courseId);
+            if (!seatRepo.existsById(courseId)) {
+                seatRepo.saveAndFlush(new CourseSeat(courseId, studentRepo.countEnrollmentsByCourseId(courseId)));
+            }
+            if (seatRepo.claimSeat(courseId, capacity) == 0) {
+                return Result.FULL;
+            }
+        }
+        studentRepo.insertEnrollment(studentId, courseId);
+        return Result.ENROLLED;
+    }
+
+    @Transactional
+    public boolean drop(Long studentId, Long courseId) {
+        if (studentRepo.deleteEnrollment(studentId, courseId) == 0) {
+            return false;
+        }
+        seatRepo.releaseSeat(courseId);
+        return true;
+    }
+
+    // Deletes a student after returning the seats they hold
+    @Transactional
+    public void removeStudent(Long studentId) {
+        seatRepo.releaseSeatsOfStudent(studentId);
+        studentRepo.deleteById(studentId);
+    }
+
+    @Transactional(readOnly = true)
+    public SeatView seats(Long courseId) {
+        Course course = courseRepo.findById(courseId)
+                .orElseThrow(() -> new RuntimeException("Course not found"));
+        int taken = seatRepo.findById(courseId)
+                .map(CourseSeat::getTaken)
+                .orElseGet(() -> studentRepo.countEnrollmentsByCourseId(courseId));
+        return SeatView.of(courseId, course.getCapacity(), taken);
+    }
+}
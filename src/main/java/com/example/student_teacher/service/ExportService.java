@@ -0,0 +1,151 @@
+package com.example.student_teacher.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.example.student_teacher.dto.CourseView;
+import com.example.student_teacher.dto.EnrollmentRow;
+import com.example.student_teacher.dto.StudentView;
+import com.example.student_teacher.repository.CourseRepository;
+import com.example.student_teacher.repository.StudentRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+
+/**
+ * Streams rosters, the catalog and the enrollment matrix as CSV or NDJSON.
+ * Rows come off a forward-only cursor as projections and are written as they
+ * arrive, so heap use does not depend on the number of rows exported.
+ */
+@Service
+public class ExportService {
+
+    public enum Dataset {
+        STUDENTS,
+        COURSES,
+        ENROLLMENTS
+    }
+
+    public enum Format {
+        CSV,
+        NDJSON
+    }
+
+    private final StudentRepository studentRepo;
+    private final CourseRepository courseRepo;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public ExportService(StudentRepository studentRepo, CourseRepository courseRepo, ObjectMapper objectMapper,
+            PlatformTransactionManager transactionManager) {
+        this.studentRepo = studentRepo;
+        this.courseRepo = courseRepo;
+        this.objectMapper = objectMapper;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    // The body runs on the async request thread, so it opens its own read-only transaction for the cursor
+    public StreamingResponseBody export(Dataset dataset, Format format, boolean gzip) {
+        return out -> {
+            OutputStream target = gzip ? new GZIPOutputStream(out, 64 * 1024) : out;
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try {
+                    switch (dataset) {
+                        case STUDENTS -> write(studentRepo.streamAllViews(), format, target,
+                                List.of("id", "name", "email", "role", "deptId", "deptName"),
+                                s -> new Object[] { s.id(), s.name(), s.email(), s.role(),
+                                        s.dept() == null ? null : s.dept().id(),
+                                        s.dept() == null ? null : s.dept().name() });
+                        case COURSES -> write(courseRepo.streamCatalogViews(), format, target,
+                                List.of("id", "title", "credit", "teacherId", "teacherName", "deptId", "deptName"),
+                                c -> new Object[] { c.id(), c.title(), c.credit(),
+                                        c.teacher() == null ? null : c.teacher().id(),
+                                        c.teacher() == null ? null : c.teacher().name(),
+                                        c.dept() == null ? null : c.dept().id(),
+                                        c.dept() == null ? null : c.dept().name() });
+                        case ENROLLMENTS -> write(studentRepo.streamEnrollments(), format, target,
+                                List.of("studentId", "courseId"),
+                                e -> new Object[] { e.studentId(), e.courseId() });
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            if (target instanceof GZIPOutputStream gzipStream) {
+                gzipStream.finish();
+            }
+            out.flush();
+        };
+    }
+
+    private <T> void write(Stream<T> rows, Format format, OutputStream out, List<String> header,
+            Function<T, Object[]> columns) throws IOException {
+        try (rows) {
+            if (format == Format.NDJSON) {
+                writeNdjson(rows, out);
+            } else {
+                writeCsv(rows, out, header, columns);
+            }
+        }
+    }
+
+    private <T> void writeNdjson(Stream<T> rows, OutputStream out) throws IOException {
+        SequenceWriter writer = objectMapper.writer()
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .withRootValueSeparator("\n")
+                .writeValues(out);
+        boolean any = false;
+        for (T row : (Iterable<T>) rows::iterator) {
+            writer.write(row);
+            any = true;
+        }
+        writer.flush();
+        if (any) {
+            out.write('\n');
+        }
+    }
+
+    private <T> void writeCsv(Stream<T> rows, OutputStream out, List<String> header,
+            Function<T, Object[]> columns) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        writer.write(String.join(",", header));
+        writer.write('\n');
+        for (T row : (Iterable<T>) rows::iterator) {
+            Object[] values = columns.apply(row);
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    writer.write(',');
+                }
+                writer.write(csvField(values[i]));
+            }
+            writer.write('\n');
+        }
+        writer.flush();
+    }
+
+    private static String csvField(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.student_teacher.service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.student_teacher.dto.ReconcileReport;
+import com.example.student_teacher.dto.SeatCount;
+import com.example.student_teacher.entity.CourseSeat;
+import com.example.student_teacher.repository.CourseRepository;
+import com.example.student_teacher.repository.CourseSeatRepository;
+import com.example.student_teacher.repository.StudentRepository;
+
+/**
+ * Checks the per-course seat counters, which the enrollment statistics are read from, against the
+ * student_courses rows they summarize. Enrollments written around {@link EnrollmentService} (entity
+ * saves of a student's course set, manual SQL) and courses that predate seat tracking show up here
+ * and are corrected, each course in its own short transaction so enrollments wait on at most one
+ * counter row, briefly.
+ */
+@Service
+public class SeatCounterReconciler {
+
+    private static final Logger log = LoggerFactory.getLogger(SeatCounterReconciler.class);
+
+    private final CourseRepository courseRepo;
+    private final CourseSeatRepository seatRepo;
+    private final StudentRepository studentRepo;
+    private final TransactionTemplate transactionTemplate;
+
+    public SeatCounterReconciler(CourseRepository courseRepo, CourseSeatRepository seatRepo,
+            StudentRepository studentRepo, PlatformTransactionManager transactionManager) {
+        this.courseRepo = courseRepo;
+        this.seatRepo = seatRepo;
+        this.studentRepo = studentRepo;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Scheduled(cron = "${app.stats.reconcile-cron:0 17 * * * *}")
+    public void scheduledReconcile() {
+        reconcile();
+    }
+
+    public ReconcileReport reconcile() {
+        Map<Long, Long> actual = new HashMap<>();
+        for (SeatCount count : studentRepo.countEnrollmentsPerCourse()) {
+            actual.put(count.courseId(), count.taken());
+        }
+        Map<Long, Integer> counters = new HashMap<>();
+        for (CourseSeat seat : seatRepo.findAll()) {
+            counters.put(seat.getCourseId(), seat.getTaken());
+        }
+
+        List<Long> courseIds = courseRepo.findAllIds();
+        int created = 0;
+        int corrected = 0;
+        for (Long courseId : courseIds) {
+            long enrolled = actual.getOrDefault(courseId, 0L);
+            Integer counter = counters.get(courseId);
+            if (counter == null) {
+                if (Boolean.TRUE.equals(transactionTemplate.execute(status -> createCounter(courseId)))) {
+                    created++;
+                }
+            } else if (counter != enrolled) {
+                // Counted without locks, so only a candidate: recount() decides under the row lock
+                if (Boolean.TRUE.equals(transactionTemplate.execute(status -> recount(courseId)))) {
+                    corrected++;
+                }
+            }
+        }
+
+        ReconcileReport report = new ReconcileReport(courseIds.size(), created, corrected);
+        log.info("Seat counters reconciled: {} courses checked, {} counters created, {} corrected",
+                report.courses(), report.created(), report.corrected());
+        return report;
+    }
+
+    // Same locking as the lazy creation on first enrollment, so the two cannot collide
+    private boolean createCounter(Long courseId) {
+        courseRepo.lockById(courseId);
+        if (seatRepo.existsById(courseId)) {
+            return false;
+        }
+        seatRepo.saveAndFlush(new CourseSeat(courseId, studentRepo.countEnrollmentsByCourseId(courseId)));
+        return true;
+    }
+
+    private boolean recount(Long courseId) {
+        Integer taken = seatRepo.lockTaken(courseId).orElse(null);
+        if (taken == null) {
+            return false;
+        }
+        // Counted after the lock is taken, so every enrollment that claimed a seat has committed
+        int enrolled = studentRepo.countEnrollmentsByCourseId(courseId);
+        if (taken == enrolled) {
+            return false;
+        }
+        log.warn("Seat counter of course {} was {} but {} students are enrolled", courseId, taken, enrolled);
+        seatRepo.setTaken(courseId, enrolled);
+        return true;
+    }
+}
@@ -0,0 +1,153 @@
+package com.example.student_teacher.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+
+import com.example.student_teacher.dto.StudentImportRow;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+/**
+ * Pulls {@link StudentImportRow}s off an import stream one at a time, so the
+ * file is never held in memory as a whole.
+ */
+final class StudentImportReader {
+
+    private StudentImportReader() {
+    }
+
+    /** One JSON object per line; a line that does not parse is reported as that row's error. */
+    static Iterator<StudentImportRow> ndjson(InputStream in, ObjectMapper objectMapper) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        ObjectReader rowReader = objectMapper.readerFor(StudentImportRow.class);
+        return rows(reader, line -> {
+            StudentImportRow row;
+            try {
+                row = rowReader.readValue(line);
+            } catch (JsonProcessingException e) {
+                throw new IllegalArgumentException("Invalid JSON: " + e.getOriginalMessage());
+            }
+            if (row == null) {
+                throw new IllegalArgumentException("Expected a JSON object");
+            }
+            return row;
+        });
+    }
+
+    /**
+     * CSV with a header line naming the columns {@code name}, {@code email},
+     * {@code password} and optionally {@code deptId}, in any order.
+     */
+    static Iterator<StudentImportRow> csv(InputStream in) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        String header = reader.readLine();
+        if (header == null) {
+            return List.<StudentImportRow>of().iterator();
+        }
+        List<String> columns = new ArrayList<>();
+        for (String column : split(header.replace("\uFEFF", ""))) {
+            columns.add(column.trim().toLowerCase(Locale.ROOT));
+        }
+        int name = columns.indexOf("name");
+        int email = columns.indexOf("email");
+        int password = columns.indexOf("password");
+        int dept = columns.indexOf("deptid");
+        if (email < 0 || password < 0) {
+            throw new IllegalArgumentException("CSV header must contain email and password columns");
+        }
+
+        return rows(reader, line -> {
+            List<String> fields = split(line);
+            String deptValue = field(fields, dept);
+            try {
+                return new StudentImportRow(field(fields, name), field(fields, email), field(fields, password),
+                        deptValue == null ? null : Long.valueOf(deptValue));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid deptId: " + deptValue);
+            }
+        });
+    }
+
+    // Non-blank lines, each parsed in next() so a malformed one is reported without ending the import
+    private static Iterator<StudentImportRow> rows(BufferedReader reader, Function<String, StudentImportRow> parser) {
+        return new Iterator<>() {
+            private String next = advance();
+
+            private String advance() {
+                try {
+                    String line;
+                    do {
+                        line = reader.readLine();
+                    } while (line != null && line.isBlank());
+                    return line;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+
+            @Override
+            public boolean hasNext() {
+                return next != null;
+            }
+
+            @Override
+            public StudentImportRow next() {
+                if (next == null) {
+                    throw new NoSuchElementException();
+                }
+                // Advance first, so the next line is still read when this one fails to parse
+                String line = next;
+                next = advance();
+                return parser.apply(line);
+            }
+        };
+    }
+
+    private static String field(List<String> fields, int index) {
+        if (index < 0 || index >= fields.size()) {
+            return null;
+        }
+        String value = fields.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    // Single-line RFC 4180 fields: commas inside quotes and "" as an escaped quote
+    private static List<String> split(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    field.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    field.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
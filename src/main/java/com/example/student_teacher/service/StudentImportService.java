@@ -0,0 +1,192 @@
+package com.example.student_teacher.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.student_teacher.config.ReadReplicas;
+import com.example.student_teacher.dto.ImportReport;
+import com.example.student_teacher.dto.ImportRowResult;
+import com.example.student_teacher.dto.ImportRowResult.Status;
+import com.example.student_teacher.dto.StudentImportRow;
+import com.example.student_teacher.entity.Dept;
+import com.example.student_teacher.entity.Student;
+import com.example.student_teacher.repository.DeptRepository;
+import com.example.student_teacher.repository.StudentRepository;
+import com.example.student_teacher.security.BoundedPasswordEncoder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+
+/**
+ * Bulk student onboarding. Rows are consumed from the upload stream in chunks:
+ * each chunk checks its emails with one query, hashes passwords on a bounded
+ * pool and is inserted in its own transaction through Hibernate's JDBC batching.
+ * A chunk that fails is split and retried, so only the rows that fail on their
+ * own are reported as FAILED. The report counts every row but lists only the
+ * ones that were not created.
+ */
+@Service
+public class StudentImportService {
+
+    private final StudentRepository studentRepo;
+    private final DeptRepository deptRepo;
+    private final PasswordEncoder passwordEncoder;
+    private final ObjectMapper objectMapper;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final ThreadPoolExecutor hashingPool;
+
+    public StudentImportService(StudentRepository studentRepo, DeptRepository deptRepo,
+            BoundedPasswordEncoder passwordEncoder, ObjectMapper objectMapper, EntityManager entityManager,
+            PlatformTransactionManager transactionManager, @Value("${app.import.batch-size:500}") int batchSize) {
+        this.studentRepo = studentRepo;
+        this.deptRepo = deptRepo;
+        // Rows are already hashed on the pool below; sending them through the shared login pool
+        // as well would let one large import fill the queue that logins get rejected from
+        this.passwordEncoder = passwordEncoder.direct();
+        this.objectMapper = objectMapper;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = batchSize;
+
+        // BCrypt is CPU bound: one thread per core, and a queue that holds at most one chunk
+        int threads = Runtime.getRuntime().availableProcessors();
+        AtomicInteger counter = new AtomicInteger();
+        this.hashingPool = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(batchSize), r -> {
+                    Thread thread = new Thread(r, "student-import-hash-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.CallerRunsPolicy());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        hashingPool.shutdown();
+    }
+
+    public ImportReport importCsv(InputStream in) throws IOException {
+        return importRows(StudentImportReader.csv(in));
+    }
+
+    public ImportReport importNdjson(InputStream in) throws IOException {
+        return importRows(StudentImportReader.ndjson(in, objectMapper));
+    }
+
+    private ImportReport importRows(Iterator<StudentImportRow> rows) {
+        Set<Long> deptIds = new HashSet<>(deptRepo.findAllIds());
+        ImportReport.Tally results = new ImportReport.Tally();
+        List<Pending> chunk = new ArrayList<>(batchSize);
+        Set<String> chunkEmails = new HashSet<>();
+        long rowNumber = 0;
+
+        while (rows.hasNext()) {
+            rowNumber++;
+            StudentImportRow row;
+            try {
+                row = rows.next();
+            } catch (RuntimeException e) {
+                results.add(new ImportRowResult(rowNumber, null, Status.INVALID, null, e.getMessage()));
+                continue;
+            }
+
+            if (row.email() == null || row.email().isBlank() || row.password() == null || row.password().isEmpty()) {
+                results.add(new ImportRowResult(rowNumber, row.email(), Status.INVALID, null,
+                        "email and password are required"));
+            } else if (row.deptId() != null && !deptIds.contains(row.deptId())) {
+                results.add(new ImportRowResult(rowNumber, row.email(), Status.INVALID, null, "Department not found"));
+            } else if (!chunkEmails.add(row.email())) {
+                results.add(new ImportRowResult(rowNumber, row.email(), Status.DUPLICATE, null,
+                        "Email repeated in import"));
+            } else {
+                chunk.add(new Pending(rowNumber, row));
+            }
+
+            if (chunk.size() == batchSize) {
+                writeChunk(chunk, results);
+                chunk.clear();
+                chunkEmails.clear();
+            }
+        }
+        writeChunk(chunk, results);
+        return results.report();
+    }
+
+    private void writeChunk(List<Pending> chunk, ImportReport.Tally results) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+
+        // Skip emails that already exist, including ones written by earlier chunks. Those were just
+        // committed on the primary, so a replica that is behind would let them through again.
+        List<String> emails = chunk.stream().map(p -> p.row().email()).toList();
+        Set<String> existing = ReadReplicas.fromPrimary(() -> studentRepo.findExistingEmails(emails));
+        List<Pending> fresh = new ArrayList<>(chunk.size());
+        for (Pending pending : chunk) {
+            if (existing.contains(pending.row().email())) {
+                results.add(new ImportRowResult(pending.rowNumber(), pending.row().email(), Status.DUPLICATE, null,
+                        "Email already exists"));
+            } else {
+                fresh.add(pending);
+            }
+        }
+
+        List<CompletableFuture<String>> hashes = fresh.stream()
+                .map(p -> CompletableFuture.supplyAsync(() -> passwordEncoder.encode(p.row().password()), hashingPool))
+                .toList();
+
+        insert(fresh, hashes, results);
+    }
+
+    private void insert(List<Pending> rows, List<CompletableFuture<String>> hashes, ImportReport.Tally results) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                for (int i = 0; i < rows.size(); i++) {
+                    StudentImportRow row = rows.get(i).row();
+                    Student student = new Student();
+                    student.setName(row.name());
+                    student.setEmail(row.email());
+                    student.setPassword(hashes.get(i).join());
+                    if (row.deptId() != null) {
+                        student.setDept(entityManager.getReference(Dept.class, row.deptId()));
+                    }
+                    entityManager.persist(student);
+                }
+                entityManager.flush();
+                entityManager.clear();
+            });
+            results.created(rows.size());
+        } catch (RuntimeException e) {
+            if (rows.size() == 1) {
+                results.add(new ImportRowResult(rows.get(0).rowNumber(), rows.get(0).row().email(), Status.FAILED,
+                        null, e.getMessage()));
+                return;
+            }
+            // One bad row rolls back the whole batch: retry each half until the failure is down to its row
+            int half = rows.size() / 2;
+            insert(rows.subList(0, half), hashes.subList(0, half), results);
+            insert(rows.subList(half, rows.size()), hashes.subList(half, hashes.size()), results);
+        }
+    }
+
+    private record Pending(long rowNumber, StudentImportRow row) {
+    }
+}
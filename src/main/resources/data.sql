@@ -1,10 +0,0 @@
--- Student
-INSERT INTO student (id, name, email, password, role)
-VALUES (1, 'Student One', 'student@mail.com',
-        '$2a$10$7QZkQw1fN8pQqJt6YvZKRe6kF2u3W6YjE0OQ8U5s9E6p5ZkX0nM1G', 'STUDENT');
-
--- Teacher
-INSERT INTO teacher (id, name, email, password, role)
-VALUES (1, 'Teacher One', 'teacher@mail.com',
-        '$2a$10$7QZkQw1fN8pQqJt6YvZKRe6kF2u3W6YjE0OQ8U5s9E6p5ZkX0nM1G', 'TEACHER');
--- pas: 1234
\ No newline at end of file
@@ -0,0 +1,54 @@
+-- Schema as Hibernate's ddl-auto built it before migrations took over, and nothing newer. Databases
+-- created that way are adopted at this version (spring.flyway.baseline-on-migrate) and continue from
+-- V2, so later schema changes go in their own migrations, never here.
+
+create sequence dept_seq start with 1 increment by 50;
+create sequence teacher_seq start with 1 increment by 50;
+create sequence course_seq start with 1 increment by 50;
+create sequence student_seq start with 1 increment by 50;
+
+create table dept (
+    id bigint not null,
+    name varchar(255),
+    primary key (id)
+);
+
+create table teacher (
+    id bigint not null,
+    email varchar(255) unique,
+    name varchar(255),
+    password varchar(255),
+    role varchar(255) check (role in ('STUDENT', 'TEACHER')),
+    primary key (id)
+);
+
+create table course (
+    id bigint not null,
+    title varchar(255),
+    credit integer not null,
+    teacher_id bigint,
+    dept_id bigint,
+    primary key (id),
+    constraint fk_course_teacher foreign key (teacher_id) references teacher (id),
+    constraint fk_course_dept foreign key (dept_id) references dept (id)
+);
+
+create table student (
+    id bigint not null,
+    email varchar(255) unique,
+    name varchar(255),
+    password varchar(255),
+    role varchar(255) check (role in ('STUDENT', 'TEACHER')),
+    dept_id bigint,
+    primary key (id),
+    constraint fk_student_dept foreign key (dept_id) references dept (id)
+);
+
+-- The primary key leads with course_id, so it also serves per-course enrollment lookups
+create table student_courses (
+    course_id bigint not null,
+    student_id bigint not null,
+    primary key (course_id, student_id),
+    constraint fk_student_courses_course foreign key (course_id) references course (id),
+    constraint fk_student_courses_student foreign key (student_id) references student (id)
+);
@@ -0,0 +1,15 @@
+-- Indexes for the foreign keys and the repository queries. "if not exists" because databases that
+-- ddl-auto managed may already carry the ones that used to be declared on the entities.
+
+-- A student's courses (dashboard, profile, enrollment checks) and deleting a student's enrollments
+create index if not exists idx_student_courses_student on student_courses (student_id, course_id);
+
+-- Dept-filtered keyset pages of courses and students, ordered by id
+create index if not exists idx_course_dept_id on course (dept_id, id);
+create index if not exists idx_student_dept_id on student (dept_id, id);
+
+-- Faceted browse: dept plus credit range, then id for the keyset order
+create index if not exists idx_course_dept_credit on course (dept_id, credit, id);
+
+-- A teacher's courses (dashboard, workload, ownership checks) and the teacher facet
+create index if not exists idx_course_teacher_id on course (teacher_id, id);
@@ -0,0 +1,16 @@
+-- Optional course capacity (null means unlimited)
+alter table course add column capacity integer;
+
+-- Live seat counter per course; kept apart from course so a seat claim updates one narrow row
+create table course_seat (
+    course_id bigint not null,
+    taken integer not null,
+    primary key (course_id)
+);
+
+-- Existing enrollments start out counted, so the first claim on an older course is already correct
+insert into course_seat (course_id, taken)
+select c.id, count(sc.student_id)
+from course c
+left join student_courses sc on sc.course_id = c.id
+group by c.id;
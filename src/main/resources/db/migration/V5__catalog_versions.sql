@@ -0,0 +1,9 @@
+-- Change counters of the catalog tables, bumped by every transaction that writes one of them.
+-- Kept in the database so ETags and cached catalog renderings agree across instances.
+create table catalog_version (
+    name varchar(32) not null,
+    version bigint not null,
+    primary key (name)
+);
+
+insert into catalog_version (name, version) values ('course', 0), ('teacher', 0), ('dept', 0);
@@ -0,0 +1,146 @@
+package com.example.student_teacher.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.example.student_teacher.entity.Course;
+import com.example.student_teacher.entity.Dept;
+import com.example.student_teacher.entity.Student;
+import com.example.student_teacher.repository.CourseRepository;
+import com.example.student_teacher.repository.DeptRepository;
+import com.example.student_teacher.repository.StudentRepository;
+import com.example.student_teacher.repository.TeacherRepository;
+
+// Not @Transactional: the export streams from its own transaction on the async thread,
+// so the fixtures have to be committed
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ExportControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private TeacherRepository teacherRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private DeptRepository deptRepository;
+
+    private Student student;
+    private Course course;
+
+    @BeforeEach
+    void setUp() {
+        cleanUp();
+
+        Dept dept = new Dept();
+        dept.setName("Computer Science");
+        dept = deptRepository.save(dept);
+
+        course = new Course();
+        course.setTitle("Java, Advanced");
+        course.setCredit(3);
+        course = courseRepository.save(course);
+
+        student = new Student();
+        student.setName("John Doe");
+        student.setEmail("john.doe@example.com");
+        student.setPassword("password123");
+        student.setDept(dept);
+        student.getCourses().add(course);
+        student = studentRepository.save(student);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        studentRepository.deleteAll();
+        courseRepository.deleteAll();
+        teacherRepository.deleteAll();
+        deptRepository.deleteAll();
+    }
+
+    @Test
+    void testExportStudentsCsv() throws Exception {
+        MvcResult result = mockMvc.perform(get("/teacher/export/students")
+                .with(user("dr.smith@example.com").roles("TEACHER")))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Disposition", "attachment; filename=\"students.csv\""))
+                .andExpect(content().string("id,name,email,role,deptId,deptName\n"
+                        + student.getId() + ",John Doe,john.doe@example.com,STUDENT,"
+                        + student.getDept().getId() + ",Computer Science\n"));
+    }
+
+    @Test
+    void testExportCoursesCsvQuotesFields() throws Exception {
+        MvcResult result = mockMvc.perform(get("/teacher/export/courses")
+                .with(user("dr.smith@example.com").roles("TEACHER")))
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().string("id,title,credit,teacherId,teacherName,deptId,deptName\n"
+                        + course.getId() + ",\"Java, Advanced\",3,,,,\n"));
+    }
+
+    @Test
+    void testExportEnrollmentsNdjsonGzip() throws Exception {
+        MvcResult result = mockMvc.perform(get("/teacher/export/enrollments?format=ndjson&gzip=true")
+                .with(user("dr.smith@example.com").roles("TEACHER")))
+                .andReturn();
+
+        byte[] body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Content-Type", "application/gzip"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(body))) {
+            assertThat(new String(in.readAllBytes(), StandardCharsets.UTF_8))
+                    .isEqualTo("{\"studentId\":" + student.getId() + ",\"courseId\":" + course.getId() + "}\n");
+        }
+    }
+
+    @Test
+    void testUnknownDataset() throws Exception {
+        mockMvc.perform(get("/teacher/export/grades")
+                .with(user("dr.smith@example.com").roles("TEACHER")))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testStudentCannotExport() throws Exception {
+        mockMvc.perform(get("/teacher/export/students")
+                .with(user("john.doe@example.com").roles("STUDENT")))
+                .andExpect(status().isForbidden());
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.student_teacher.controller;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestBuilders.formLogin;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.redirectedUrl;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.student_teacher.entity.Student;
+import com.example.student_teacher.repository.StudentRepository;
+
+// Metrics exporters are off in tests unless asked for
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability(tracing = false)
+@ActiveProfiles("test")
+@Transactional
+class MetricsEndpointTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @BeforeEach
+    void setUp() {
+        // Clean up
+        studentRepository.deleteAll();
+
+        Student student = new Student();
+        student.setName("Metrics Student");
+        student.setEmail("metrics@example.com");
+        student.setPassword(passwordEncoder.encode("password123"));
+        studentRepository.save(student);
+    }
+
+    @Test
+    void testPrometheusScrapeCoversRequestsLoginsHibernateAndPool() throws Exception {
+        // Given
+        mockMvc.perform(formLogin().user("metrics@example.com").password("password123"))
+                .andExpect(redirectedUrl("/dashboard"));
+        mockMvc.perform(formLogin().user("metrics@example.com").password("wrong"))
+                .andExpect(redirectedUrl("/login?error"));
+        mockMvc.perform(get("/student/profile").with(user("metrics@example.com").roles("STUDENT")))
+                .andExpect(status().isOk());
+
+        // When & Then
+        mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString(
+                        "http_server_requests_seconds_bucket{application=\"student_teacher\"")))
+                .andExpect(content().string(containsString("spring_data_repository_invocations_seconds_bucket")))
+                .andExpect(content().string(containsString("app_login_lookup_seconds_count")))
+                .andExpect(content().string(containsString("app_logins_total{application=\"student_teacher\","
+                        + "reason=\"BadCredentialsException\",result=\"failure\"")))
+                .andExpect(content().string(containsString("app_logins_total{application=\"student_teacher\","
+                        + "reason=\"none\",result=\"success\"")))
+                .andExpect(content().string(containsString("app_password_hashing_queued")))
+                .andExpect(content().string(containsString("hibernate_query_executions_total")))
+                .andExpect(content().string(containsString("hibernate_second_level_cache_requests_total")))
+                .andExpect(content().string(containsString("hikaricp_connections_pending")));
+    }
+
+    @Test
+    void testScrapeIsLimitedToConfiguredNetworks() throws Exception {
+        mockMvc.perform(get("/actuator/prometheus").with(request -> {
+            request.setRemoteAddr("10.1.2.3");
+            return request;
+        }))
+                .andExpect(status().is3xxRedirection());
+
+        mockMvc.perform(get("/actuator/health").with(request -> {
+            request.setRemoteAddr("10.1.2.3");
+            return request;
+        }))
+                .andExpect(status().isOk());
+    }
+}
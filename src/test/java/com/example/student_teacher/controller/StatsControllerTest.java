@@ -0,0 +1,140 @@
+package com.example.student_teacher.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.student_teacher.dto.ReconcileReport;
+import com.example.student_teacher.entity.Course;
+import com.example.student_teacher.entity.Dept;
+import com.example.student_teacher.entity.Student;
+import com.example.student_teacher.integration.CatalogFixtures;
+import com.example.student_teacher.repository.CourseRepository;
+import com.example.student_teacher.repository.CourseSeatRepository;
+import com.example.student_teacher.repository.StudentRepository;
+import com.example.student_teacher.service.EnrollmentService;
+import com.example.student_teacher.service.SeatCounterReconciler;
+
+import jakarta.persistence.EntityManager;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+class StatsControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private CourseSeatRepository seatRepository;
+
+    @Autowired
+    private CatalogFixtures fixtures;
+
+    @Autowired
+    private EnrollmentService enrollmentService;
+
+    @Autowired
+    private SeatCounterReconciler reconciler;
+
+    private Dept dept;
+    private Course java;
+    private Course compilers;
+    private Student alice;
+    private Student bob;
+
+    @BeforeEach
+    void setUp() {
+        // Clean up
+        fixtures.deleteAll();
+
+        dept = fixtures.dept("Computer Science");
+        java = fixtures.course("Java", 3, dept, null);
+        compilers = fixtures.course("Compilers", 4, dept, null);
+        alice = fixtures.student("Alice", "alice@example.com", null);
+        bob = fixtures.student("Bob", "bob@example.com", null);
+
+        enrollmentService.enroll(alice.getId(), java.getId());
+        enrollmentService.enroll(bob.getId(), java.getId());
+        enrollmentService.enroll(alice.getId(), compilers.getId());
+    }
+
+    @Test
+    void testDepartmentAndCourseStats() throws Exception {
+        // When & Then
+        mockMvc.perform(get("/stats/departments")
+                .with(user("dr.smith@example.com").roles("TEACHER")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].name").value("Computer Science"))
+                .andExpect(jsonPath("$[0].courses").value(2))
+                .andExpect(jsonPath("$[0].enrolled").value(3))
+                .andExpect(jsonPath("$[0].creditHours").value(10));
+
+        mockMvc.perform(get("/stats/courses?size=1&dept=" + dept.getId())
+                .with(user("dr.smith@example.com").roles("TEACHER")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].title").value("Java"))
+                .andExpect(jsonPath("$.items[0].enrolled").value(2))
+                .andExpect(jsonPath("$.items[0].creditHours").value(6))
+                .andExpect(jsonPath("$.next").value(String.valueOf(java.getId())));
+    }
+
+    @Test
+    void testStatsRequireTeacher() throws Exception {
+        mockMvc.perform(get("/stats/departments")
+                .with(user("alice@example.com").roles("STUDENT")))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void testReconcileRepairsDriftedCounters() throws Exception {
+        // Given - a course without a counter, and an enrollment written around EnrollmentService
+        Course legacy = new Course();
+        legacy.setTitle("Legacy");
+        legacy.setCredit(2);
+        legacy.setDept(dept);
+        legacy = courseRepository.save(legacy);
+        entityManager.flush();
+        entityManager.clear();
+        Student bobReloaded = studentRepository.findById(bob.getId()).orElseThrow();
+        bobReloaded.getCourses().add(courseRepository.findById(compilers.getId()).orElseThrow());
+        bobReloaded.getCourses().add(courseRepository.findById(legacy.getId()).orElseThrow());
+        studentRepository.saveAndFlush(bobReloaded);
+
+        // When
+        ReconcileReport report = reconciler.reconcile();
+
+        // Then
+        assertThat(report).isEqualTo(new ReconcileReport(3, 1, 1));
+        assertThat(seatRepository.findById(compilers.getId()).orElseThrow().getTaken()).isEqualTo(2);
+        assertThat(seatRepository.findById(legacy.getId()).orElseThrow().getTaken()).isEqualTo(1);
+        assertThat(reconciler.reconcile()).isEqualTo(new ReconcileReport(3, 0, 0));
+
+        mockMvc.perform(get("/stats/departments")
+                .with(user("dr.smith@example.com").roles("TEACHER")))
+                .andExpect(jsonPath("$[0].enrolled").value(5))
+                .andExpect(jsonPath("$[0].creditHours").value(16));
+    }
+
+}
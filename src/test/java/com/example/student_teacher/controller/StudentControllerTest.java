@@ -17,16 +17,21 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.redirectedUrl;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.example.student_teacher.dto.Account;
 import com.example.student_teacher.entity.Course;
 import com.example.student_teacher.entity.Dept;
+import com.example.student_teacher.entity.Role;
 import com.example.student_teacher.entity.Student;
 import com.example.student_teacher.repository.CourseRepository;
 import com.example.student_teacher.repository.DeptRepository;
 import com.example.student_teacher.repository.StudentRepository;
+import com.example.student_teacher.security.AccountPrincipal;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 @SpringBootTest
@@ -93,7 +98,9 @@ class StudentControllerTest {
                 .with(csrf()))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.name").value("John Doe"))
-                .andExpect(jsonPath("$.email").value("john.doe@example.com"));
+                .andExpect(jsonPath("$.email").value("john.doe@example.com"))
+                .andExpect(jsonPath("$.dept.name").value("Computer Science"))
+                .andExpect(jsonPath("$.password").doesNotExist());
 
                 // assertTrue(false, "Intentional failure");
     }
@@ -131,6 +138,40 @@ class StudentControllerTest {
                 .andExpect(status().isOk());
     }
 
+    @Test
+    void testTakeCourseUsesIdFromAccountPrincipal() throws Exception {
+        // Given - the principal's email no longer matches, so only its id can identify the student
+        AccountPrincipal principal = new AccountPrincipal(
+                new Account(student.getId(), "renamed@example.com", "password123", Role.STUDENT));
+
+        // When & Then
+        mockMvc.perform(post("/student/courses/" + course.getId())
+                .with(user(principal))
+                .with(csrf()))
+                .andExpect(status().isOk());
+
+        assertTrue(studentRepository.countEnrollment(student.getId(), course.getId()) == 1);
+    }
+
+    @Test
+    void testTakeCourseForAccountDeletedMidSessionIsRejected() throws Exception {
+        // Given - a session whose student row no longer exists, so the enrollment insert fails
+        AccountPrincipal principal = new AccountPrincipal(
+                new Account(student.getId() + 1000, "gone@example.com", "password123", Role.STUDENT));
+
+        // When & Then
+        mockMvc.perform(post("/student/courses/" + course.getId())
+                .with(user(principal))
+                .with(csrf()))
+                .andExpect(status().isConflict())
+                .andExpect(content().string("Enrollment could not be saved"));
+        mockMvc.perform(post("/student/courses/enroll/" + course.getId())
+                .with(user(principal))
+                .with(csrf()))
+                .andExpect(status().is3xxRedirection())
+                .andExpect(redirectedUrl("/student/dashboard?failed"));
+    }
+
     @Test
     void testRemoveCourse() throws Exception {
         // Given - add course first
@@ -144,4 +185,37 @@ class StudentControllerTest {
                 .with(csrf()))
                 .andExpect(status().isOk());
     }
+
+    @Test
+    void testTakeFullCourse() throws Exception {
+        // Given - a one-seat course that someone else already holds
+        Course seminar = new Course();
+        seminar.setTitle("Seminar");
+        seminar.setCredit(2);
+        seminar.setCapacity(1);
+        seminar = courseRepository.save(seminar);
+
+        Student other = new Student();
+        other.setName("Other");
+        other.setEmail("other@example.com");
+        other.setPassword("password123");
+        studentRepository.save(other);
+        mockMvc.perform(post("/student/courses/" + seminar.getId())
+                .with(user("other@example.com").roles("STUDENT"))
+                .with(csrf()))
+                .andExpect(status().isOk());
+
+        // When & Then
+        mockMvc.perform(post("/student/courses/" + seminar.getId())
+                .with(user("john.doe@example.com").roles("STUDENT"))
+                .with(csrf()))
+                .andExpect(status().isConflict());
+
+        mockMvc.perform(get("/student/courses/" + seminar.getId() + "/seats")
+                .with(user("john.doe@example.com").roles("STUDENT"))
+                .with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.taken").value(1))
+                .andExpect(jsonPath("$.available").value(0));
+    }
 }
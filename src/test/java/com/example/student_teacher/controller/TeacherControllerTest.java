@@ -1,5 +1,6 @@
 package com.example.student_teacher.controller;
 
+import static org.hamcrest.Matchers.hasItems;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.when;
@@ -9,6 +10,8 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -26,11 +29,14 @@ import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
 import com.example.student_teacher.entity.Course;
+import com.example.student_teacher.entity.Student;
 import com.example.student_teacher.entity.Teacher;
 import com.example.student_teacher.repository.CourseRepository;
 import com.example.student_teacher.repository.StudentRepository;
 import com.example.student_teacher.repository.TeacherRepository;
 import com.example.student_teacher.security.CustomUserDetailsService;
+import com.example.student_teacher.service.CourseService;
+import com.example.student_teacher.service.EnrollmentService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 @SpringBootTest
@@ -57,6 +63,12 @@ class TeacherControllerTest {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private EnrollmentService enrollmentService;
+
     private Teacher teacher;
     private Course course;
 
@@ -150,4 +162,211 @@ class TeacherControllerTest {
                 .with(csrf()))
                 .andExpect(status().isOk());
     }
+
+    @Test
+    void testDeleteCourseDropsEnrollments() throws Exception {
+        // Given - two students enrolled in the course
+        for (String email : List.of("a@example.com", "b@example.com")) {
+            Student student = new Student();
+            student.setName(email);
+            student.setEmail(email);
+            student.setPassword("secret");
+            student.getCourses().add(course);
+            studentRepository.save(student);
+        }
+
+        // When & Then
+        mockMvc.perform(delete("/teacher/courses/" + course.getId())
+                .with(user("dr.smith@example.com").roles("TEACHER"))
+                .with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(content().string("Course deleted successfully (2 enrollments removed)"));
+
+        assertThat(courseRepository.existsById(course.getId())).isFalse();
+        assertThat(studentRepository.findByEmail("a@example.com").orElseThrow().getCourses()).isEmpty();
+    }
+
+    @Test
+    void testGetStudentPage() throws Exception {
+        // Given
+        for (int i = 0; i < 3; i++) {
+            Student student = new Student();
+            student.setName("Student " + i);
+            student.setEmail("student" + i + "@example.com");
+            student.setPassword("secret");
+            studentRepository.save(student);
+        }
+
+        // When & Then
+        String next = objectMapper.readTree(mockMvc.perform(get("/teacher/students/page?size=2&name=student")
+                .with(user("dr.smith@example.com").roles("TEACHER"))
+                .with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(2))
+                .andReturn().getResponse().getContentAsString()).get("next").asText();
+
+        mockMvc.perform(get("/teacher/students/page?size=2&name=student&after=" + next)
+                .with(user("dr.smith@example.com").roles("TEACHER"))
+                .with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(1))
+                .andExpect(jsonPath("$.items[0].name").value("Student 2"))
+                .andExpect(jsonPath("$.next").doesNotExist());
+    }
+
+    @Test
+    void testBrowseCoursesWithFacets() throws Exception {
+        // Given
+        for (int credit = 1; credit <= 4; credit++) {
+            Course extra = new Course();
+            extra.setTitle("Extra " + credit);
+            extra.setCredit(credit);
+            extra.setTeacher(teacher);
+            courseRepository.save(extra);
+        }
+
+        // When & Then
+        mockMvc.perform(get("/teacher/courses/browse?size=2&minCredit=2&teacher=" + teacher.getId())
+                .with(user("dr.smith@example.com").roles("TEACHER")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.page.items.length()").value(2))
+                .andExpect(jsonPath("$.page.next").exists())
+                .andExpect(jsonPath("$.facets[?(@.facet == 'credit')].value", hasItems(1, 2, 3, 4)))
+                .andExpect(jsonPath("$.facets[?(@.facet == 'teacher')].count", hasItems(3)));
+    }
+
+    @Test
+    void testGetWorkload() throws Exception {
+        // Given
+        course.setTeacher(teacher);
+        courseService.createCourse(course);
+        Course seminar = new Course();
+        seminar.setTitle("Seminar");
+        seminar.setCredit(1);
+        seminar.setCapacity(10);
+        seminar.setTeacher(teacher);
+        seminar = courseService.createCourse(seminar);
+        for (int i = 0; i < 2; i++) {
+            Student student = new Student();
+            student.setName("Student " + i);
+            student.setEmail("student" + i + "@example.com");
+            student.setPassword("secret");
+            student = studentRepository.save(student);
+            enrollmentService.enroll(student.getId(), course.getId());
+            if (i == 0) {
+                enrollmentService.enroll(student.getId(), seminar.getId());
+            }
+        }
+
+        // When & Then
+        mockMvc.perform(get("/teacher/workload")
+                .with(user("dr.smith@example.com").roles("TEACHER")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.courseCount").value(2))
+                .andExpect(jsonPath("$.totalCredits").value(4))
+                .andExpect(jsonPath("$.totalEnrolled").value(3))
+                .andExpect(jsonPath("$.courses[0].title").value("Java Programming"))
+                .andExpect(jsonPath("$.courses[0].enrolled").value(2))
+                .andExpect(jsonPath("$.courses[1].capacity").value(10))
+                .andExpect(jsonPath("$.courses[1].enrolled").value(1));
+    }
+
+    @Test
+    void testGetStudentById() throws Exception {
+        // Given
+        Student student = new Student();
+        student.setName("Jane Roe");
+        student.setEmail("jane.roe@example.com");
+        student.setPassword("secret");
+        student.getCourses().add(course);
+        student = studentRepository.save(student);
+
+        // When & Then
+        mockMvc.perform(get("/teacher/students/" + student.getId())
+                .with(user("dr.smith@example.com").roles("TEACHER"))
+                .with(csrf()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Jane Roe"))
+                .andExpect(jsonPath("$.courses[0].title").value("Java Programming"))
+                .andExpect(jsonPath("$.password").doesNotExist());
+    }
+
+    @Test
+    void testImportStudentsCsv() throws Exception {
+        String csv = """
+                name,email,password
+                Ann,ann@example.com,secret
+                "Lee, Bo",bo@example.com,secret
+                Dup,ann@example.com,secret
+                NoPassword,np@example.com,
+                """;
+
+        // When & Then
+        mockMvc.perform(post("/teacher/students/import")
+                .with(user("dr.smith@example.com").roles("TEACHER"))
+                .with(csrf())
+                .contentType("text/csv")
+                .content(csv))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(4))
+                .andExpect(jsonPath("$.created").value(2))
+                .andExpect(jsonPath("$.skipped").value(2))
+                .andExpect(jsonPath("$.rows.length()").value(2))
+                .andExpect(jsonPath("$.rows[0].row").value(3))
+                .andExpect(jsonPath("$.rows[0].status").value("DUPLICATE"))
+                .andExpect(jsonPath("$.rows[1].row").value(4))
+                .andExpect(jsonPath("$.rows[1].status").value("INVALID"));
+
+        assertThat(studentRepository.findByEmail("bo@example.com").orElseThrow().getName()).isEqualTo("Lee, Bo");
+    }
+
+    @Test
+    void testImportStudentsNdjson() throws Exception {
+        studentRepository.save(newStudent("taken@example.com"));
+        String ndjson = """
+                {"name":"Ann","email":"ann@example.com","password":"secret"}
+                {"name":"Taken","email":"taken@example.com","password":"secret"}
+                """;
+
+        // When & Then
+        mockMvc.perform(post("/teacher/students/import")
+                .with(user("dr.smith@example.com").roles("TEACHER"))
+                .with(csrf())
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .content(ndjson))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(1))
+                .andExpect(jsonPath("$.rows.length()").value(1))
+                .andExpect(jsonPath("$.rows[0].status").value("DUPLICATE"));
+    }
+
+    @Test
+    void testImportStudentsNdjsonReportsMalformedLine() throws Exception {
+        String ndjson = """
+                {"name":"Ann","email":"ann@example.com","password":"secret"}
+                {"name":"Broken","email":
+                {"name":"Bo","email":"bo@example.com","password":"secret"}
+                """;
+
+        // When & Then
+        mockMvc.perform(post("/teacher/students/import")
+                .with(user("dr.smith@example.com").roles("TEACHER"))
+                .with(csrf())
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .content(ndjson))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.total").value(3))
+                .andExpect(jsonPath("$.created").value(2))
+                .andExpect(jsonPath("$.rows.length()").value(1))
+                .andExpect(jsonPath("$.rows[0].row").value(2))
+                .andExpect(jsonPath("$.rows[0].status").value("INVALID"));
+    }
+
+    private Student newStudent(String email) {
+        Student student = new Student();
+        student.setName(email);
+        student.setEmail(email);
+        student.setPassword("secret");
+        return student;
+    }
 }
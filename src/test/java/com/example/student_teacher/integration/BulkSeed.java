@@ -0,0 +1,100 @@
+package com.example.student_teacher.integration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.springframework.context.ApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.example.student_teacher.service.CourseSearchIndex;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Replaces the database contents with a generated university for load runs and the JMH benchmarks.
+ * Rows are written with JDBC batches (seeding through the entities would dominate the run) and get
+ * ids from {@link #FIRST_ID} up. The last {@code electives} courses have no seeded enrollments, so
+ * an enroll followed by a drop always finds a free pair and leaves the data as seeded.
+ */
+public final class BulkSeed {
+
+    // Above the ids of the test accounts and of the sequences' first block
+    public static final long FIRST_ID = 1_000;
+
+    private BulkSeed() {
+    }
+
+    public record Volumes(int depts, int teachers, int courses, int electives, int students,
+            int enrollmentsPerStudent) {
+
+        public long studentId(int index) {
+            return FIRST_ID + index;
+        }
+
+        public long electiveId(int index) {
+            return FIRST_ID + courses - electives + index;
+        }
+    }
+
+    public static String email(long studentId) {
+        return "student" + studentId + "@bench.test";
+    }
+
+    public static void seed(ApplicationContext context, Volumes volumes, String passwordHash) {
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+        for (String table : List.of("student_courses", "course_seat", "student", "course", "teacher", "dept")) {
+            jdbc.update("delete from " + table);
+        }
+
+        List<Object[]> depts = new ArrayList<>();
+        for (int i = 0; i < volumes.depts(); i++) {
+            depts.add(new Object[] {FIRST_ID + i, "Department " + i});
+        }
+        jdbc.batchUpdate("insert into dept (id, name) values (?, ?)", depts);
+
+        List<Object[]> teachers = new ArrayList<>();
+        for (int i = 0; i < volumes.teachers(); i++) {
+            teachers.add(new Object[] {FIRST_ID + i, "Teacher " + i, "teacher" + i + "@bench.test", passwordHash});
+        }
+        jdbc.batchUpdate("insert into teacher (id, name, email, password, role) values (?, ?, ?, ?, 'TEACHER')",
+                teachers);
+
+        List<Object[]> courses = new ArrayList<>();
+        for (int i = 0; i < volumes.courses(); i++) {
+            courses.add(new Object[] {FIRST_ID + i, "Course " + i, 1 + i % 4,
+                    FIRST_ID + i % volumes.teachers(), FIRST_ID + i % volumes.depts()});
+        }
+        jdbc.batchUpdate("insert into course (id, title, credit, teacher_id, dept_id) values (?, ?, ?, ?, ?)",
+                courses);
+
+        List<Object[]> students = new ArrayList<>();
+        List<Object[]> enrollments = new ArrayList<>();
+        int[] taken = new int[volumes.courses()];
+        int seeded = volumes.courses() - volumes.electives();
+        int perStudent = Math.min(volumes.enrollmentsPerStudent(), seeded);
+        for (int i = 0; i < volumes.students(); i++) {
+            long id = volumes.studentId(i);
+            students.add(new Object[] {id, "Student " + i, email(id), passwordHash, FIRST_ID + i % volumes.depts()});
+            // Consecutive courses from a per-student start: distinct, and spread evenly over the catalog
+            for (int e = 0; e < perStudent; e++) {
+                int course = (i * 7 + e) % seeded;
+                enrollments.add(new Object[] {FIRST_ID + course, id});
+                taken[course]++;
+            }
+        }
+        jdbc.batchUpdate("insert into student (id, name, email, password, role, dept_id) "
+                + "values (?, ?, ?, ?, 'STUDENT', ?)", students);
+        jdbc.batchUpdate("insert into student_courses (course_id, student_id) values (?, ?)", enrollments);
+
+        List<Object[]> seats = new ArrayList<>();
+        for (int i = 0; i < volumes.courses(); i++) {
+            seats.add(new Object[] {FIRST_ID + i, taken[i]});
+        }
+        jdbc.batchUpdate("insert into course_seat (course_id, taken) values (?, ?)", seats);
+
+        // JDBC writes bypass Hibernate: drop whatever it cached and re-index the new catalog
+        context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class).getCache().evictAllRegions();
+        context.getBean(CourseSearchIndex.class).build();
+    }
+}
@@ -0,0 +1,309 @@
+package com.example.student_teacher.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.example.student_teacher.entity.Course;
+import com.example.student_teacher.entity.Dept;
+import com.example.student_teacher.entity.Student;
+import com.example.student_teacher.entity.Teacher;
+import com.example.student_teacher.repository.StudentRepository;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import com.jayway.jsonpath.JsonPath;
+
+import jakarta.persistence.EntityManagerFactory;
+
+// Not @Transactional: the query cache and the catalog ETags only move once writes are committed
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class CatalogCacheTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private CatalogFixtures fixtures;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        cleanUp();
+
+        Dept dept = fixtures.dept("Computer Science");
+        Teacher teacher = fixtures.teacher("Dr. Smith", "dr.smith@example.com");
+        Course course = fixtures.course("Java Programming", 3, dept, teacher);
+
+        Student enrolled = fixtures.student("John Doe", "john.doe@example.com", null);
+        enrolled.getCourses().add(course);
+        studentRepository.save(enrolled);
+        fixtures.student("Jane Roe", "jane.roe@example.com", null);
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        fixtures.deleteAll();
+    }
+
+    @Test
+    void testRepeatedCatalogReadIsServedFromCache() throws Exception {
+        // Given
+        mockMvc.perform(get("/teacher/courses")
+                .with(user("dr.smith@example.com").roles("TEACHER")))
+                .andExpect(status().isOk());
+        statistics.clear();
+
+        // When & Then
+        mockMvc.perform(get("/teacher/courses")
+                .with(user("dr.smith@example.com").roles("TEACHER")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)));
+
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(1);
+        // Only the catalog version lookup behind the ETag
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void testCourseWriteInvalidatesCachedCatalog() throws Exception {
+        // Given
+        mockMvc.perform(get("/teacher/courses")
+                .with(user("dr.smith@example.com").roles("TEACHER")))
+                .andExpect(jsonPath("$", hasSize(1)));
+
+        mockMvc.perform(post("/teacher/courses")
+                .with(user("dr.smith@example.com").roles("TEACHER"))
+                .with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\":\"Databases\",\"credit\":3}"))
+                .andExpect(status().isOk());
+
+        // When & Then
+        mockMvc.perform(get("/teacher/courses")
+                .with(user("dr.smith@example.com").roles("TEACHER")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)));
+    }
+
+    @Test
+    void testCatalogRegionsExpireAfterWrite() {
+        // Other instances' writes only reach this cache through expiry (or a version change)
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("caffeine.conf"), getClass().getClassLoader());
+        for (String region : List.of("course", "teacher", "dept", "default-query-results-region")) {
+            CaffeineConfiguration<?, ?> configuration = cacheManager.getCache(region)
+                    .getConfiguration(CaffeineConfiguration.class);
+            assertThat(configuration.getExpireAfterWrite()).as(region).hasValue(Duration.ofSeconds(60).toNanos());
+        }
+    }
+
+    @Test
+    void testUnchangedCatalogAnswers304WithOnlyTheVersionLookup() throws Exception {
+        // Given
+        String etag = mockMvc.perform(get("/teacher/courses")
+                .with(user("dr.smith@example.com").roles("TEACHER")))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "no-cache, private"))
+                .andReturn().getResponse().getHeader("ETag");
+        statistics.clear();
+
+        // When & Then
+        mockMvc.perform(get("/teacher/courses")
+                .with(user("dr.smith@example.com").roles("TEACHER"))
+                .header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", etag))
+                .andExpect(content().string(""));
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getQueryCacheHitCount()).isZero();
+    }
+
+    @Test
+    void testCourseWritesChangeCatalogEtag() throws Exception {
+        // Given
+        String original = mockMvc.perform(get("/teacher/courses")
+                .with(user("dr.smith@example.com").roles("TEACHER")))
+                .andReturn().getResponse().getHeader("ETag");
+
+        // When
+        String body = mockMvc.perform(post("/teacher/courses")
+                .with(user("dr.smith@example.com").roles("TEACHER"))
+                .with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\":\"Databases\",\"credit\":3}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        long newCourseId = ((Number) JsonPath.read(body, "$.id")).longValue();
+
+        // Then
+        String afterAdd = mockMvc.perform(get("/teacher/courses")
+                .with(user("dr.smith@example.com").roles("TEACHER"))
+                .header("If-None-Match", original))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andReturn().getResponse().getHeader("ETag");
+        assertThat(afterAdd).isNotEqualTo(original);
+
+        mockMvc.perform(delete("/teacher/courses/" + newCourseId)
+                .with(user("dr.smith@example.com").roles("TEACHER"))
+                .with(csrf()))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/teacher/courses")
+                .with(user("dr.smith@example.com").roles("TEACHER"))
+                .header("If-None-Match", afterAdd))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)));
+    }
+
+    @Test
+    void testWriteThroughAnotherInstanceChangesCatalogEtag() throws Exception {
+        // Given
+        String etag = mockMvc.perform(get("/teacher/courses")
+                .with(user("dr.smith@example.com").roles("TEACHER")))
+                .andReturn().getResponse().getHeader("ETag");
+
+        // When - another instance renames the course, which raises no event here
+        jdbcTemplate.update("update course set title = 'Kotlin Programming'");
+        jdbcTemplate.update("update catalog_version set version = version + 1 where name = 'course'");
+
+        // Then - the new tag comes with the new title, not the locally cached one
+        mockMvc.perform(get("/teacher/courses")
+                .with(user("dr.smith@example.com").roles("TEACHER"))
+                .header("If-None-Match", etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", not(etag)))
+                .andExpect(jsonPath("$[0].title").value("Kotlin Programming"));
+    }
+
+    @Test
+    void testDepartmentsEtagIgnoresCourseWrites() throws Exception {
+        // Given
+        String etag = mockMvc.perform(get("/student/departments")
+                .with(user("john.doe@example.com").roles("STUDENT")))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(post("/teacher/courses")
+                .with(user("dr.smith@example.com").roles("TEACHER"))
+                .with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\":\"Databases\",\"credit\":3}"))
+                .andExpect(status().isOk());
+
+        // When & Then
+        mockMvc.perform(get("/student/departments")
+                .with(user("john.doe@example.com").roles("STUDENT"))
+                .header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void testDashboardCatalogRowsAreRenderedOncePerVersion() throws Exception {
+        // Given
+        mockMvc.perform(get("/student/dashboard")
+                .with(user("john.doe@example.com").roles("STUDENT")))
+                .andExpect(status().isOk());
+        statistics.clear();
+
+        // When & Then - the catalog query is skipped entirely; enroll state is still per student
+        mockMvc.perform(get("/student/dashboard")
+                .with(user("jane.roe@example.com").roles("STUDENT")))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("Java Programming")))
+                .andExpect(content().string(containsString("Dr. Smith")))
+                .andExpect(content().string(not(containsString(">Enrolled<"))));
+        assertThat(statistics.getQueryCacheHitCount()).isZero();
+        // The catalog version and the student's enrollments
+        assertThat(statistics.getQueryExecutionCount()).isEqualTo(2);
+
+        mockMvc.perform(get("/student/dashboard")
+                .with(user("john.doe@example.com").roles("STUDENT")))
+                .andExpect(content().string(containsString(">Enrolled<")));
+    }
+
+    @Test
+    void testWriteThroughAnotherInstanceRerendersDashboardCatalog() throws Exception {
+        // Given
+        mockMvc.perform(get("/student/dashboard")
+                .with(user("jane.roe@example.com").roles("STUDENT")))
+                .andExpect(content().string(containsString("Java Programming")));
+
+        // When - another instance renames the course, which raises no event here
+        jdbcTemplate.update("update course set title = 'Kotlin Programming'");
+        jdbcTemplate.update("update catalog_version set version = version + 1 where name = 'course'");
+
+        // Then
+        mockMvc.perform(get("/student/dashboard")
+                .with(user("jane.roe@example.com").roles("STUDENT")))
+                .andExpect(content().string(containsString("Kotlin Programming")))
+                .andExpect(content().string(not(containsString("Java Programming"))));
+    }
+
+    @Test
+    void testCourseWriteRerendersDashboardCatalog() throws Exception {
+        // Given
+        mockMvc.perform(get("/student/dashboard")
+                .with(user("jane.roe@example.com").roles("STUDENT")))
+                .andExpect(content().string(not(containsString("Databases"))));
+
+        // When
+        mockMvc.perform(post("/teacher/courses")
+                .with(user("dr.smith@example.com").roles("TEACHER"))
+                .with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\":\"Databases\",\"credit\":3}"))
+                .andExpect(status().isOk());
+
+        // Then
+        mockMvc.perform(get("/student/dashboard")
+                .with(user("jane.roe@example.com").roles("STUDENT")))
+                .andExpect(content().string(containsString("Databases")));
+    }
+}
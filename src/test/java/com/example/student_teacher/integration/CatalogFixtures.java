@@ -0,0 +1,84 @@
+package com.example.student_teacher.integration;
+
+import org.springframework.stereotype.Component;
+
+import com.example.student_teacher.entity.Course;
+import com.example.student_teacher.entity.CourseSeat;
+import com.example.student_teacher.entity.Dept;
+import com.example.student_teacher.entity.Student;
+import com.example.student_teacher.entity.Teacher;
+import com.example.student_teacher.repository.CourseRepository;
+import com.example.student_teacher.repository.CourseSeatRepository;
+import com.example.student_teacher.repository.DeptRepository;
+import com.example.student_teacher.repository.StudentRepository;
+import com.example.student_teacher.repository.TeacherRepository;
+
+/**
+ * Test rows saved through the repositories, and the clean-up that removes them in foreign key
+ * order. Courses get their seat counter as {@code CourseService} gives them one, so enrolling in
+ * them never takes the lazy counter creation path. Picked up by component scanning in
+ * {@code @SpringBootTest} classes; slice tests {@code @Import} it.
+ */
+@Component
+public class CatalogFixtures {
+
+    public static final String PASSWORD = "password123";
+
+    private final StudentRepository studentRepository;
+    private final TeacherRepository teacherRepository;
+    private final CourseRepository courseRepository;
+    private final CourseSeatRepository seatRepository;
+    private final DeptRepository deptRepository;
+
+    public CatalogFixtures(StudentRepository studentRepository, TeacherRepository teacherRepository,
+            CourseRepository courseRepository, CourseSeatRepository seatRepository, DeptRepository deptRepository) {
+        this.studentRepository = studentRepository;
+        this.teacherRepository = teacherRepository;
+        this.courseRepository = courseRepository;
+        this.seatRepository = seatRepository;
+        this.deptRepository = deptRepository;
+    }
+
+    // Students first: deleting them takes their enrollments along
+    public void deleteAll() {
+        studentRepository.deleteAll();
+        seatRepository.deleteAll();
+        courseRepository.deleteAll();
+        teacherRepository.deleteAll();
+        deptRepository.deleteAll();
+    }
+
+    public Dept dept(String name) {
+        Dept dept = new Dept();
+        dept.setName(name);
+        return deptRepository.save(dept);
+    }
+
+    public Teacher teacher(String name, String email) {
+        Teacher teacher = new Teacher();
+        teacher.setName(name);
+        teacher.setEmail(email);
+        teacher.setPassword(PASSWORD);
+        return teacherRepository.save(teacher);
+    }
+
+    public Course course(String title, int credit, Dept dept, Teacher teacher) {
+        Course course = new Course();
+        course.setTitle(title);
+        course.setCredit(credit);
+        course.setDept(dept);
+        course.setTeacher(teacher);
+        course = courseRepository.save(course);
+        seatRepository.save(new CourseSeat(course.getId(), 0));
+        return course;
+    }
+
+    public Student student(String name, String email, Dept dept) {
+        Student student = new Student();
+        student.setName(name);
+        student.setEmail(email);
+        student.setPassword(PASSWORD);
+        student.setDept(dept);
+        return studentRepository.save(student);
+    }
+}
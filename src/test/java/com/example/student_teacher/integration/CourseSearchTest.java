@@ -0,0 +1,176 @@
+package com.example.student_teacher.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.example.student_teacher.entity.Course;
+import com.example.student_teacher.entity.Dept;
+import com.example.student_teacher.entity.Teacher;
+import com.example.student_teacher.service.CourseSearchIndex;
+
+import jakarta.persistence.EntityManagerFactory;
+
+// Not @Transactional: the search index only follows committed catalog writes
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class CourseSearchTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CatalogFixtures fixtures;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CourseSearchIndex searchIndex;
+
+    private Course java;
+
+    @BeforeEach
+    void setUp() {
+        cleanUp();
+
+        Dept dept = fixtures.dept("Computer Science");
+        Teacher teacher = fixtures.teacher("Dr. Smith", "dr.smith@example.com");
+        java = fixtures.course("Java Programming", 3, dept, teacher);
+        fixtures.course("JavaScript Basics", 3, dept, teacher);
+        fixtures.course("Databases", 3, null, teacher);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        fixtures.deleteAll();
+    }
+
+    @Test
+    void testTypeaheadMatchesWordPrefixesWithoutQueries() throws Exception {
+        // Given
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        // When & Then
+        mockMvc.perform(get("/student/courses/search").param("q", "jav")
+                .with(user("john.doe@example.com").roles("STUDENT")))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Server-Timing", startsWith("search;dur=")))
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].title").value("Java Programming"))
+                .andExpect(jsonPath("$[0].teacher.name").value("Dr. Smith"));
+
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    void testSearchToleratesTyposAndCoversTeacherAndDept() throws Exception {
+        mockMvc.perform(get("/student/courses/search").param("q", "progrmming")
+                .with(user("john.doe@example.com").roles("STUDENT")))
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].title").value("Java Programming"));
+
+        mockMvc.perform(get("/student/courses/search").param("q", "smith data")
+                .with(user("john.doe@example.com").roles("STUDENT")))
+                .andExpect(jsonPath("$[0].title").value("Databases"));
+
+        mockMvc.perform(get("/student/courses/search").param("q", "computer")
+                .with(user("john.doe@example.com").roles("STUDENT")))
+                .andExpect(jsonPath("$", hasSize(2)));
+    }
+
+    @Test
+    void testLongerQueryNeverMatchesMore() throws Exception {
+        // Given - words sharing only their first two letters with "java"
+        Teacher teacher = fixtures.teacher("Dr. Ito", "dr.ito@example.com");
+        fixtures.course("Jazz History", 3, null, teacher);
+        fixtures.course("Japanese Literature", 3, null, teacher);
+
+        // When & Then
+        mockMvc.perform(get("/student/courses/search").param("q", "jav")
+                .with(user("john.doe@example.com").roles("STUDENT")))
+                .andExpect(jsonPath("$[*].title", containsInAnyOrder("Java Programming", "JavaScript Basics")));
+        mockMvc.perform(get("/student/courses/search").param("q", "java")
+                .with(user("john.doe@example.com").roles("STUDENT")))
+                .andExpect(jsonPath("$[*].title", containsInAnyOrder("Java Programming", "JavaScript Basics")));
+    }
+
+    @Test
+    void testIndexFollowsCatalogWrites() throws Exception {
+        // When
+        mockMvc.perform(put("/teacher/courses/" + java.getId())
+                .with(user("dr.smith@example.com").roles("TEACHER"))
+                .with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\":\"Kotlin Programming\"}"))
+                .andExpect(status().isOk());
+        mockMvc.perform(put("/teacher/profile")
+                .with(user("dr.smith@example.com").roles("TEACHER"))
+                .with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"Dr. Jones\"}"))
+                .andExpect(status().isOk());
+
+        // Then
+        mockMvc.perform(get("/student/courses/search").param("q", "kotl")
+                .with(user("john.doe@example.com").roles("STUDENT")))
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].teacher.name").value("Dr. Jones"));
+        mockMvc.perform(get("/student/courses/search").param("q", "jones")
+                .with(user("john.doe@example.com").roles("STUDENT")))
+                .andExpect(jsonPath("$", hasSize(3)));
+
+        mockMvc.perform(delete("/teacher/courses/" + java.getId())
+                .with(user("dr.smith@example.com").roles("TEACHER"))
+                .with(csrf()))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/student/courses/search").param("q", "kotl")
+                .with(user("john.doe@example.com").roles("STUDENT")))
+                .andExpect(jsonPath("$", hasSize(0)));
+    }
+
+    @Test
+    void testReloadPicksUpWritesFromOtherInstances() throws Exception {
+        // Given - a rename committed elsewhere, so no change event reaches this instance
+        jdbcTemplate.update("update course set title = ? where id = ?", "Rust Programming", java.getId());
+        mockMvc.perform(get("/student/courses/search").param("q", "rust")
+                .with(user("john.doe@example.com").roles("STUDENT")))
+                .andExpect(jsonPath("$", hasSize(0)));
+
+        // When
+        searchIndex.reload();
+
+        // Then
+        mockMvc.perform(get("/student/courses/search").param("q", "rust")
+                .with(user("john.doe@example.com").roles("STUDENT")))
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].teacher.name").value("Dr. Smith"));
+    }
+}
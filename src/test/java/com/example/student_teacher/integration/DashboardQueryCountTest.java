@@ -0,0 +1,85 @@
+package com.example.student_teacher.integration;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.student_teacher.entity.Course;
+import com.example.student_teacher.entity.Dept;
+import com.example.student_teacher.entity.Student;
+import com.example.student_teacher.entity.Teacher;
+import com.example.student_teacher.repository.StudentRepository;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Each dashboard on a catalog of twelve courses, every one with its own dept and half with their
+ * own teacher: a query per course, teacher or dept would blow the budget many times over.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+class DashboardQueryCountTest {
+
+    private static final int COURSES = 12;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private CatalogFixtures fixtures;
+
+    @BeforeEach
+    void setUp() {
+        // Clean up
+        fixtures.deleteAll();
+
+        Student student = fixtures.student("John Doe", "john.doe@example.com", null);
+        Teacher owner = fixtures.teacher("Dr. Smith", "dr.smith@example.com");
+
+        // Every course gets its own dept; the student enrolls in every other one
+        for (int i = 1; i <= COURSES; i++) {
+            Dept dept = fixtures.dept("Dept " + i);
+            Teacher teacher = i % 2 == 0 ? owner : fixtures.teacher("Teacher " + i, "teacher" + i + "@example.com");
+            Course course = fixtures.course("Course " + i, 3, dept, teacher);
+            if (i % 2 == 0) {
+                student.getCourses().add(course);
+            }
+        }
+        studentRepository.save(student);
+
+        // The requests load everything from the database rather than from this transaction
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    @StatementBudget(select = 3)
+    void testStudentDashboardQueriesDoNotGrowWithCatalog() throws Exception {
+        mockMvc.perform(get("/student/dashboard").with(user("john.doe@example.com").roles("STUDENT")))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    @StatementBudget(select = 2)
+    void testTeacherDashboardQueriesDoNotGrowWithCatalog() throws Exception {
+        mockMvc.perform(get("/teacher/dashboard").with(user("dr.smith@example.com").roles("TEACHER")))
+                .andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.student_teacher.integration;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-endpoint request latencies from a load run, with everything before the end of the warmup
+ * dropped. Shared by the benchmark-tagged load tests.
+ */
+class LatencyRecorder {
+
+    private final Map<String, ConcurrentLinkedQueue<Long>> latencies = new ConcurrentHashMap<>();
+    final AtomicLong errors = new AtomicLong();
+    final AtomicLong loginRetries = new AtomicLong();
+    final long recordFrom;
+
+    LatencyRecorder(long recordFrom) {
+        this.recordFrom = recordFrom;
+    }
+
+    void record(String endpoint, long nanos) {
+        if (System.nanoTime() >= recordFrom) {
+            latencies.computeIfAbsent(endpoint, e -> new ConcurrentLinkedQueue<>()).add(nanos);
+        }
+    }
+
+    long total() {
+        return latencies.values().stream().mapToLong(ConcurrentLinkedQueue::size).sum();
+    }
+
+    // By endpoint name, for stable output
+    Map<String, EndpointStats> summary(int seconds) {
+        Map<String, EndpointStats> summary = new TreeMap<>();
+        latencies.forEach((endpoint, values) -> {
+            long[] sorted = values.stream().mapToLong(Long::longValue).sorted().toArray();
+            summary.put(endpoint, new EndpointStats(sorted.length, sorted.length / (double) seconds,
+                    percentile(sorted, 50), percentile(sorted, 95), percentile(sorted, 99),
+                    sorted[sorted.length - 1] / 1e6));
+        });
+        return summary;
+    }
+
+    void print(String label, int seconds) {
+        long total = total();
+        System.out.printf("%-8s %8d requests  %8.0f req/s  %d errors  %d login retries%n", label, total,
+                total / (double) seconds, errors.get(), loginRetries.get());
+        summary(seconds).forEach((endpoint, stats) -> System.out.printf(
+                "  %-18s %8.0f req/s  p50 %7.1f ms  p95 %7.1f ms  p99 %7.1f ms  max %7.1f ms%n", endpoint,
+                stats.throughput(), stats.p50Ms(), stats.p95Ms(), stats.p99Ms(), stats.maxMs()));
+    }
+
+    private static double percentile(long[] sorted, int p) {
+        int index = (int) Math.ceil(p / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(index, 0)] / 1e6;
+    }
+
+    record EndpointStats(long requests, double throughput, double p50Ms, double p95Ms, double p99Ms,
+            double maxMs) {
+    }
+}
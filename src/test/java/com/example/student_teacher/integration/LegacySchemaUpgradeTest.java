@@ -0,0 +1,57 @@
+package com.example.student_teacher.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import com.example.student_teacher.entity.CourseSeat;
+import com.example.student_teacher.repository.CourseRepository;
+import com.example.student_teacher.repository.CourseSeatRepository;
+
+/**
+ * Boots on a database that the application created with ddl-auto before Flyway managed the schema.
+ * Flyway adopts it at V1 and migrates it forward, and Hibernate's validation must then pass.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class LegacySchemaUpgradeTest {
+
+    private static final String LEGACY_URL = "jdbc:h2:mem:legacy;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private CourseSeatRepository seatRepository;
+
+    @DynamicPropertySource
+    static void legacyDatabase(DynamicPropertyRegistry registry) {
+        new ResourceDatabasePopulator(new ClassPathResource("db/legacy/ddl-auto-schema.sql"))
+                .execute(new DriverManagerDataSource(LEGACY_URL, "sa", ""));
+        registry.add("spring.datasource.url", () -> LEGACY_URL);
+    }
+
+    @Test
+    void testLegacySchemaIsAdoptedAndMigrated() {
+        // Then - adopted at the baseline, then migrated past it
+        JdbcTemplate jdbc = new JdbcTemplate(new DriverManagerDataSource(LEGACY_URL, "sa", ""));
+        assertThat(jdbc.queryForObject("select \"version\" from \"flyway_schema_history\" where \"type\" = 'BASELINE'",
+                String.class)).isEqualTo("1");
+        assertThat(jdbc.queryForList("select \"version\" from \"flyway_schema_history\" where \"type\" = 'SQL'",
+                String.class)).containsExactly("2", "3", "5");
+
+        // Existing enrollments were counted into the new seat counters
+        assertThat(seatRepository.findById(100L)).map(CourseSeat::getTaken).hasValue(2);
+        assertThat(seatRepository.findById(101L)).map(CourseSeat::getTaken).hasValue(0);
+        assertThat(courseRepository.findById(100L).orElseThrow().getCapacity()).isNull();
+    }
+}
@@ -0,0 +1,220 @@
+package com.example.student_teacher.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.example.student_teacher.StudentTeacherApplication;
+import com.example.student_teacher.integration.BulkSeed.Volumes;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * Boots the application on a random port, seeds it with {@link BulkSeed} and runs scripted student
+ * sessions from many concurrent clients: form login, /dashboard, then rounds of enroll, drop and
+ * profile update, then logout. Prints throughput and p50/p95/p99/max per endpoint and writes the
+ * same as JSON to target/load-report.json. Excluded from the default build; run it with
+ * {@code mvn test -Pbenchmark -Dtest=LoadHarnessTest}.
+ * <p>
+ * Runs on H2 in PostgreSQL mode unless -Dload.db-url points at a PostgreSQL database, which is
+ * emptied and reseeded, so use a scratch one. Tune with -Dload.clients, -Dload.warmup-seconds,
+ * -Dload.seconds, -Dload.rounds (enroll/drop/profile rounds per session), -Dload.students,
+ * -Dload.courses, -Dload.enrollments, -Dload.bcrypt-strength and -Dload.pool-size.
+ */
+@Tag("benchmark")
+class LoadHarnessTest {
+
+    private static final int CLIENTS = Integer.getInteger("load.clients", 200);
+    private static final int WARMUP_SECONDS = Integer.getInteger("load.warmup-seconds", 10);
+    private static final int SECONDS = Integer.getInteger("load.seconds", 30);
+    private static final int ROUNDS = Integer.getInteger("load.rounds", 5);
+    private static final int POOL_SIZE = Integer.getInteger("load.pool-size", 10);
+    // The production floor of the calibrated cost, so logins weigh what they do in production
+    private static final int BCRYPT_STRENGTH = Integer.getInteger("load.bcrypt-strength", 10);
+    private static final String DB_URL = System.getProperty("load.db-url",
+            "jdbc:h2:mem:load;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH");
+    private static final Path REPORT = Path.of(System.getProperty("load.report", "target/load-report.json"));
+
+    private static final Volumes VOLUMES = new Volumes(
+            Integer.getInteger("load.depts", 20),
+            Integer.getInteger("load.teachers", 100),
+            Integer.getInteger("load.courses", 1_000),
+            Integer.getInteger("load.electives", 100),
+            Integer.getInteger("load.students", 10_000),
+            Integer.getInteger("load.enrollments", 5));
+
+    private final HttpClient http = HttpClient.newBuilder()
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+
+    @Test
+    void studentSessions() throws Exception {
+        LatencyRecorder result;
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(StudentTeacherApplication.class)
+                .profiles("test")
+                .properties(properties())
+                .run()) {
+            BulkSeed.seed(context, VOLUMES, context.getBean(PasswordEncoder.class).encode("password123"));
+            int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+            result = load("http://localhost:" + port);
+        }
+
+        System.out.println();
+        System.out.printf("Load harness: %d clients, %d s on %s, %d students, %d courses%n", CLIENTS, SECONDS,
+                DB_URL, VOLUMES.students(), VOLUMES.courses());
+        result.print("sessions", SECONDS);
+        Files.createDirectories(REPORT.toAbsolutePath().getParent());
+        new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(REPORT.toFile(), report(result));
+        System.out.println("Report written to " + REPORT.toAbsolutePath());
+
+        assertThat(result.errors.get()).isZero();
+    }
+
+    private static String[] properties() {
+        List<String> properties = new ArrayList<>(List.of(
+                "server.port=0",
+                "spring.datasource.url=" + DB_URL,
+                "spring.datasource.hikari.maximum-pool-size=" + POOL_SIZE,
+                "spring.jpa.show-sql=false",
+                "spring.jpa.properties.hibernate.generate_statistics=false",
+                "app.security.bcrypt.strength=" + BCRYPT_STRENGTH,
+                "app.stats.reconcile-cron=-",
+                "logging.level.root=WARN"));
+        if (DB_URL.startsWith("jdbc:postgresql:")) {
+            properties.addAll(List.of(
+                    "spring.datasource.driver-class-name=org.postgresql.Driver",
+                    "spring.datasource.username=" + System.getProperty("load.db-user", "admin"),
+                    "spring.datasource.password=" + System.getProperty("load.db-password", "admin"),
+                    "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.PostgreSQLDialect"));
+        }
+        return properties.toArray(String[]::new);
+    }
+
+    private LatencyRecorder load(String baseUrl) throws Exception {
+        // Requests made while the JIT, caches and pool warm up are not recorded
+        LatencyRecorder result = new LatencyRecorder(
+                System.nanoTime() + Duration.ofSeconds(WARMUP_SECONDS).toNanos());
+        long deadline = result.recordFrom + Duration.ofSeconds(SECONDS).toNanos();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < CLIENTS; c++) {
+                String email = BulkSeed.email(VOLUMES.studentId(c % VOLUMES.students()));
+                clients.submit(() -> sessions(baseUrl, email, deadline, result));
+            }
+        }
+        return result;
+    }
+
+    // One client: log in, dashboard, ROUNDS x (enroll, drop, profile update), log out; until the deadline
+    private Void sessions(String baseUrl, String email, long deadline, LatencyRecorder result) {
+        try {
+            while (System.nanoTime() < deadline) {
+                String cookie = login(baseUrl, email, result);
+                send(result, "dashboard", get(baseUrl + "/dashboard", cookie), 302);
+                send(result, "student-dashboard", get(baseUrl + "/student/dashboard", cookie), 200);
+                for (int round = 0; round < ROUNDS && System.nanoTime() < deadline; round++) {
+                    long courseId = VOLUMES.electiveId(ThreadLocalRandom.current().nextInt(VOLUMES.electives()));
+                    send(result, "enroll", post(baseUrl + "/student/courses/enroll/" + courseId, cookie, ""), 302);
+                    send(result, "drop", post(baseUrl + "/student/courses/drop/" + courseId, cookie, ""), 302);
+                    send(result, "profile", HttpRequest.newBuilder(URI.create(baseUrl + "/student/profile"))
+                            .header("Cookie", cookie)
+                            .header("Content-Type", "application/json")
+                            .PUT(HttpRequest.BodyPublishers.ofString("{\"name\":\"Student " + round + "\"}"))
+                            .build(), 200);
+                }
+                send(result, "logout", post(baseUrl + "/logout", cookie, ""), 302);
+            }
+        } catch (Exception e) {
+            result.errors.incrementAndGet();
+        }
+        return null;
+    }
+
+    // A saturated hashing pool turns logins away (redirect to /login?error); back off and try again
+    private String login(String baseUrl, String email, LatencyRecorder result) throws Exception {
+        String form = "username=" + URLEncoder.encode(email, StandardCharsets.UTF_8) + "&password=password123";
+        for (int attempt = 0; attempt < 50; attempt++) {
+            long start = System.nanoTime();
+            HttpResponse<Void> response = http.send(post(baseUrl + "/login", null, form),
+                    HttpResponse.BodyHandlers.discarding());
+            result.record("login", System.nanoTime() - start);
+            if (response.headers().firstValue("Location").orElse("").endsWith("/dashboard")) {
+                return response.headers().allValues("Set-Cookie").stream()
+                        .filter(c -> c.startsWith("JSESSIONID="))
+                        .map(c -> c.substring(0, c.indexOf(';')))
+                        .findFirst()
+                        .orElseThrow();
+            }
+            result.loginRetries.incrementAndGet();
+            Thread.sleep(ThreadLocalRandom.current().nextLong(50, 200));
+        }
+        throw new IllegalStateException("Login kept failing for " + email);
+    }
+
+    private void send(LatencyRecorder result, String endpoint, HttpRequest request, int expectedStatus)
+            throws Exception {
+        long start = System.nanoTime();
+        HttpResponse<Void> response = http.send(request, HttpResponse.BodyHandlers.discarding());
+        result.record(endpoint, System.nanoTime() - start);
+        if (response.statusCode() != expectedStatus) {
+            result.errors.incrementAndGet();
+        }
+    }
+
+    private static Map<String, Object> report(LatencyRecorder result) {
+        Map<String, Object> config = new LinkedHashMap<>();
+        config.put("clients", CLIENTS);
+        config.put("warmupSeconds", WARMUP_SECONDS);
+        config.put("seconds", SECONDS);
+        config.put("roundsPerSession", ROUNDS);
+        config.put("poolSize", POOL_SIZE);
+        config.put("bcryptStrength", BCRYPT_STRENGTH);
+        config.put("database", DB_URL.startsWith("jdbc:postgresql:") ? "postgresql" : "h2");
+        config.put("volumes", VOLUMES);
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("config", config);
+        report.put("requests", result.total());
+        report.put("throughput", result.total() / (double) SECONDS);
+        report.put("errors", result.errors.get());
+        report.put("loginRetries", result.loginRetries.get());
+        report.put("endpoints", result.summary(SECONDS));
+        return report;
+    }
+
+    private static HttpRequest get(String url, String cookie) {
+        return HttpRequest.newBuilder(URI.create(url)).header("Cookie", cookie).GET().build();
+    }
+
+    private static HttpRequest post(String url, String cookie, String form) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(form));
+        if (cookie != null) {
+            builder.header("Cookie", cookie);
+        }
+        return builder.build();
+    }
+}
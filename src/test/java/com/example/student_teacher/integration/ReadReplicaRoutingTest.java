@@ -0,0 +1,244 @@
+package com.example.student_teacher.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.not;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.sql.Connection;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.example.student_teacher.config.ReadReplicas;
+import com.example.student_teacher.entity.Course;
+import com.example.student_teacher.entity.Student;
+import com.example.student_teacher.entity.Teacher;
+import com.example.student_teacher.repository.CourseRepository;
+import com.example.student_teacher.repository.StudentRepository;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * A second in-memory database stands in for the replica. Nothing replicates to it: rows written
+ * only there, or differing from the primary's, show which database served a request.
+ * Not @Transactional: a test transaction would hold one primary connection for every request.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ReadReplicaRoutingTest {
+
+    private static final String REPLICA_URL = "jdbc:h2:mem:replica;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private ReadReplicas readReplicas;
+
+    private final JdbcTemplate replica = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+
+    // The replica needs the schema before the context starts: startup work already reads from it
+    @DynamicPropertySource
+    static void replica(DynamicPropertyRegistry registry) {
+        Flyway.configure().dataSource(REPLICA_URL, "sa", "").locations("classpath:db/migration").load().migrate();
+        registry.add("app.datasource.replicas", () -> REPLICA_URL);
+    }
+
+    @Autowired
+    private CatalogFixtures fixtures;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        // Clean up
+        fixtures.deleteAll();
+        for (String table : List.of("student_courses", "course_seat", "student", "course", "teacher", "dept")) {
+            replica.update("delete from " + table);
+        }
+        readReplicas.checkHealth();
+    }
+
+    @Test
+    void testReadOnlyRequestIsServedByReplica() throws Exception {
+        // Given - a student that only the replica has
+        replica.update("insert into student (id, email, name, password, role) values (?, ?, ?, ?, ?)",
+                900_001L, "replica@example.com", "Replica Only", "secret", "STUDENT");
+
+        // When & Then
+        mockMvc.perform(get("/student/profile").with(user("replica@example.com").roles("STUDENT")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Replica Only"));
+        // Outside a read-only transaction the primary answers, and it has no such student
+        assertThat(new JdbcTemplate(dataSource).queryForObject("select count(*) from student where email = ?",
+                Integer.class, "replica@example.com")).isZero();
+    }
+
+    @Test
+    void testUserReadsOwnWriteFromPrimary() throws Exception {
+        // Given - the replica is behind the primary
+        Student student = new Student();
+        student.setName("Original");
+        student.setEmail("writer@example.com");
+        student.setPassword("secret");
+        student = studentRepository.save(student);
+        replica.update("insert into student (id, email, name, password, role) values (?, ?, ?, ?, ?)",
+                student.getId(), "writer@example.com", "Stale", "secret", "STUDENT");
+
+        mockMvc.perform(get("/student/profile").with(user("writer@example.com").roles("STUDENT")))
+                .andExpect(jsonPath("$.name").value("Stale"));
+
+        // When
+        mockMvc.perform(put("/student/profile").with(user("writer@example.com").roles("STUDENT")).with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"name\":\"Updated\"}"))
+                .andExpect(status().isOk());
+
+        // Then
+        mockMvc.perform(get("/student/profile").with(user("writer@example.com").roles("STUDENT")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("Updated"));
+    }
+
+    @Test
+    void testUpdateDoesNotWriteBackWhatTheReplicaMissed() throws Exception {
+        // Given - the credit was raised on the primary, and the replica has not caught up
+        Teacher author = fixtures.teacher("Dr. Author", "author@example.com");
+        Course course = fixtures.course("Compilers", 3, null, author);
+        new JdbcTemplate(dataSource).update("update course set credit = 5 where id = ?", course.getId());
+        replica.update("insert into teacher (id, email, name, password, role) values (?, ?, ?, ?, ?)",
+                author.getId(), "author@example.com", "Dr. Author", "secret", "TEACHER");
+        replica.update("insert into course (id, title, credit, teacher_id) values (?, ?, ?, ?)",
+                course.getId(), "Compilers", 3, author.getId());
+        entityManagerFactory.getCache().evictAll();
+
+        // When
+        mockMvc.perform(put("/teacher/courses/" + course.getId())
+                .with(user("author@example.com").roles("TEACHER")).with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\":\"Advanced Compilers\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.credit").value(5));
+
+        // Then
+        assertThat(new JdbcTemplate(dataSource).queryForObject("select credit from course where id = ?",
+                Integer.class, course.getId())).isEqualTo(5);
+    }
+
+    @Test
+    void testOtherUsersNeverCacheWhatALaggingReplicaMissed() throws Exception {
+        // Given - a course both databases have, then renamed on the primary only
+        Teacher author = fixtures.teacher("Dr. Author", "author@example.com");
+        Course course = fixtures.course("Old Title", 3, null, author);
+        fixtures.student("Reader", "reader@example.com", null);
+        replica.update("insert into teacher (id, email, name, password, role) values (?, ?, ?, ?, ?)",
+                author.getId(), "author@example.com", "Dr. Author", "secret", "TEACHER");
+        replica.update("insert into course (id, title, credit, teacher_id) values (?, ?, ?, ?)",
+                course.getId(), "Old Title", 3, author.getId());
+        mockMvc.perform(put("/teacher/courses/" + course.getId())
+                .with(user("author@example.com").roles("TEACHER")).with(csrf())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"title\":\"New Title\"}"))
+                .andExpect(status().isOk());
+        entityManagerFactory.getCache().evictAll();
+
+        // When - another user's read-only work is served by the replica
+        assertThat(readOnlyTitle(course.getId())).isEqualTo("Old Title");
+
+        // Then - nothing it read was cached for everyone else
+        assertThat(entityManagerFactory.getCache().contains(Course.class, course.getId())).isFalse();
+        MvcResult catalog = mockMvc.perform(get("/teacher/courses").with(user("other@example.com").roles("TEACHER")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].title").value("New Title"))
+                .andReturn();
+        mockMvc.perform(get("/teacher/courses").with(user("other@example.com").roles("TEACHER"))
+                .header("If-None-Match", catalog.getResponse().getHeader("ETag")))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/student/dashboard").with(user("reader@example.com").roles("STUDENT")))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("New Title")))
+                .andExpect(content().string(not(containsString("Old Title"))));
+        // The shared caches were filled from the primary, so replica sessions now read the new title there
+        assertThat(readOnlyTitle(course.getId())).isEqualTo("New Title");
+    }
+
+    @Test
+    void testReadsFallBackToPrimaryWhenNoReplicaIsReachable() throws Exception {
+        // Given
+        ReadReplicas unreachable = new ReadReplicas(List.of("jdbc:h2:tcp://localhost:1/none"), "sa", "", 1, 250,
+                5000);
+        try {
+            // When
+            try (Connection connection = unreachable.routing(dataSource).getConnection()) {
+                // Then
+                assertThat(connection.getMetaData().getURL()).isEqualTo("jdbc:h2:mem:testdb");
+            }
+            unreachable.checkHealth();
+            assertThat(unreachable.healthyCount()).isZero();
+        } finally {
+            unreachable.destroy();
+        }
+    }
+
+    @Test
+    void testBusyReplicaStaysInRotation() throws Exception {
+        // Given - a replica whose only connection is taken
+        ReadReplicas busy = new ReadReplicas(List.of(REPLICA_URL), "sa", "", 1, 250, 5000);
+        try (Connection held = busy.routing(dataSource).getConnection()) {
+            assertThat(held.getMetaData().getURL()).isEqualTo("jdbc:h2:mem:replica");
+
+            // When
+            try (Connection connection = busy.routing(dataSource).getConnection()) {
+                // Then - this read waits out the pool timeout and goes to the primary
+                assertThat(connection.getMetaData().getURL()).isEqualTo("jdbc:h2:mem:testdb");
+            }
+            assertThat(busy.healthyCount()).isEqualTo(1);
+        } finally {
+            busy.destroy();
+        }
+    }
+
+    private String readOnlyTitle(Long courseId) {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        return readOnly.execute(status -> courseRepository.findById(courseId).orElseThrow().getTitle());
+    }
+}
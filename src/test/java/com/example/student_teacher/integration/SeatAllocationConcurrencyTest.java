@@ -0,0 +1,184 @@
+package com.example.student_teacher.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.example.student_teacher.entity.Course;
+import com.example.student_teacher.entity.Student;
+import com.example.student_teacher.repository.CourseRepository;
+import com.example.student_teacher.repository.CourseSeatRepository;
+import com.example.student_teacher.repository.DeptRepository;
+import com.example.student_teacher.repository.StudentRepository;
+import com.example.student_teacher.repository.TeacherRepository;
+import com.example.student_teacher.service.CourseService;
+import com.example.student_teacher.service.EnrollmentService;
+import com.example.student_teacher.service.EnrollmentService.Result;
+
+// Registration-open stress test: many students race for the few seats of one course.
+// Not @Transactional, every enrollment commits in its own transaction.
+@SpringBootTest
+@ActiveProfiles("test")
+class SeatAllocationConcurrencyTest {
+
+    private static final int STUDENTS = 200;
+    private static final int CAPACITY = 25;
+    private static final int THREADS = 32;
+
+    @Autowired
+    private EnrollmentService enrollmentService;
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private TeacherRepository teacherRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private CourseSeatRepository courseSeatRepository;
+
+    @Autowired
+    private DeptRepository deptRepository;
+
+    private Course course;
+    private List<Long> studentIds;
+
+    @BeforeEach
+    void setUp() {
+        cleanUp();
+
+        course = new Course();
+        course.setTitle("Popular Seminar");
+        course.setCredit(3);
+        course.setCapacity(CAPACITY);
+        course = courseService.createCourse(course);
+
+        List<Student> students = new ArrayList<>();
+        for (int i = 0; i < STUDENTS; i++) {
+            Student student = new Student();
+            student.setName("Student " + i);
+            student.setEmail("student" + i + "@example.com");
+            student.setPassword("password123");
+            students.add(student);
+        }
+        studentIds = studentRepository.saveAll(students).stream().map(Student::getId).toList();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        studentRepository.deleteAll();
+        courseSeatRepository.deleteAll();
+        courseRepository.deleteAll();
+        teacherRepository.deleteAll();
+        deptRepository.deleteAll();
+    }
+
+    @Test
+    void testCourseIsNeverOversubscribed() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        Map<Result, AtomicInteger> outcomes = new ConcurrentHashMap<>();
+        AtomicInteger errors = new AtomicInteger();
+
+        List<Future<?>> futures = new ArrayList<>();
+        for (Long studentId : studentIds) {
+            futures.add(pool.submit(() -> {
+                start.await();
+                try {
+                    Result result = enrollmentService.enroll(studentId, course.getId());
+                    outcomes.computeIfAbsent(result, r -> new AtomicInteger()).incrementAndGet();
+                } catch (RuntimeException e) {
+                    errors.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+
+        long begin = System.nanoTime();
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(60, TimeUnit.SECONDS);
+        }
+        long elapsedNanos = System.nanoTime() - begin;
+        pool.shutdown();
+
+        int enrolled = outcomes.getOrDefault(Result.ENROLLED, new AtomicInteger()).get();
+        System.out.printf("Seat allocation: %d requests on %d threads in %.1f ms (%.0f req/s), outcomes=%s, errors=%d%n",
+                STUDENTS, THREADS, elapsedNanos / 1e6, STUDENTS / (elapsedNanos / 1e9), outcomes, errors.get());
+
+        assertThat(enrolled).isEqualTo(CAPACITY);
+        assertThat(courseSeatRepository.findById(course.getId()).orElseThrow().getTaken()).isEqualTo(CAPACITY);
+        assertThat(studentRepository.countEnrollmentsByCourseId(course.getId())).isEqualTo(CAPACITY);
+    }
+
+    @Test
+    void testDoubleSubmitEnrollsOnce() throws Exception {
+        int rounds = 20;
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            for (int i = 0; i < rounds; i++) {
+                // Given - one student sending the same enrollment twice at once
+                Long studentId = studentIds.get(i);
+                CountDownLatch start = new CountDownLatch(1);
+                List<Future<Result>> futures = new ArrayList<>();
+                for (int j = 0; j < 2; j++) {
+                    futures.add(pool.submit(() -> {
+                        start.await();
+                        return enrollmentService.enroll(studentId, course.getId());
+                    }));
+                }
+
+                // When
+                start.countDown();
+                List<Result> results = new ArrayList<>();
+                for (Future<Result> future : futures) {
+                    results.add(future.get(10, TimeUnit.SECONDS));
+                }
+
+                // Then
+                assertThat(results).containsExactlyInAnyOrder(Result.ENROLLED, Result.ALREADY_ENROLLED);
+            }
+        } finally {
+            pool.shutdown();
+        }
+        assertThat(courseSeatRepository.findById(course.getId()).orElseThrow().getTaken()).isEqualTo(rounds);
+        assertThat(studentRepository.countEnrollmentsByCourseId(course.getId())).isEqualTo(rounds);
+    }
+
+    @Test
+    void testDroppedSeatCanBeRetaken() {
+        for (int i = 0; i < CAPACITY; i++) {
+            assertThat(enrollmentService.enroll(studentIds.get(i), course.getId())).isEqualTo(Result.ENROLLED);
+        }
+        Long waitlisted = studentIds.get(CAPACITY);
+        assertThat(enrollmentService.enroll(waitlisted, course.getId())).isEqualTo(Result.FULL);
+
+        assertThat(enrollmentService.drop(studentIds.get(0), course.getId())).isTrue();
+        assertThat(enrollmentService.enroll(waitlisted, course.getId())).isEqualTo(Result.ENROLLED);
+
+        enrollmentService.removeStudent(studentIds.get(1));
+        assertThat(enrollmentService.seats(course.getId()).taken()).isEqualTo(CAPACITY - 1);
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.student_teacher.integration;
+
+import static org.assertj.core.api.Assertions.as;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.List;
+
+import org.assertj.core.api.InstanceOfAssertFactories;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.example.student_teacher.config.SqlLogDataSource;
+import com.example.student_teacher.entity.Student;
+import com.example.student_teacher.repository.StudentRepository;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+
+// A zero threshold makes every statement slow, so each one is logged
+@SpringBootTest(properties = "app.sql-log.slow-threshold-ms=0")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+class SlowQueryLogTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    private final Logger logger = (Logger) LoggerFactory.getLogger(SqlLogDataSource.class);
+    private final ListAppender<ILoggingEvent> appender = new ListAppender<>();
+
+    @BeforeEach
+    void setUp() {
+        // Clean up
+        studentRepository.deleteAll();
+
+        Student student = new Student();
+        student.setName("Logged Student");
+        student.setEmail("logged@example.com");
+        student.setPassword("secret");
+        studentRepository.saveAndFlush(student);
+
+        appender.start();
+        logger.addAppender(appender);
+    }
+
+    @AfterEach
+    void tearDown() {
+        logger.detachAppender(appender);
+    }
+
+    @Test
+    void testSlowStatementIsLoggedWithEndpointRowsAndParameterTypes() throws Exception {
+        // When
+        mockMvc.perform(get("/student/profile").with(user("logged@example.com").roles("STUDENT")))
+                .andExpect(status().isOk());
+
+        // Then
+        List<String> lines = appender.list.stream()
+                .map(ILoggingEvent::getFormattedMessage)
+                .filter(line -> line.contains("endpoint=\"GET /student/profile\""))
+                .toList();
+        assertThat(lines).hasSize(1);
+        assertThat(lines.get(0))
+                .startsWith("sql kind=slow ms=")
+                .contains("rows=1 ")
+                .contains("params=[String]")
+                .contains("statement=\"select")
+                .doesNotContain("logged@example.com");
+    }
+
+    @Test
+    void testQueryIsSlowWhenReadingItsRowsIs() throws Exception {
+        // Given - executes at once, but its rows are read slowly (as a streamed export reads them)
+        SqlLogDataSource dataSource = new SqlLogDataSource(
+                new DriverManagerDataSource("jdbc:h2:mem:testdb", "sa", ""), 100, 0);
+
+        // When
+        try (Connection connection = dataSource.getConnection();
+                PreparedStatement statement = connection.prepareStatement("select x from system_range(1, 3)");
+                ResultSet rows = statement.executeQuery()) {
+            while (rows.next()) {
+                Thread.sleep(50);
+            }
+        }
+
+        // Then
+        assertThat(appender.list).extracting(ILoggingEvent::getFormattedMessage)
+                .singleElement(as(InstanceOfAssertFactories.STRING))
+                .startsWith("sql kind=slow ms=")
+                .contains("rows=3 ")
+                .contains("statement=\"select x from system_range(1, 3)\"");
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.student_teacher.integration;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+
+/**
+ * The most SQL statements a test method may send, by kind; anything not listed is allowed none.
+ * Only the test method body is counted, not its @BeforeEach setup, so a test that performs a
+ * single request states that request's budget. Statements are counted as {@link StatementCounter}
+ * sees them: a JDBC batch is one statement however many rows it carries, so a budget bounds round
+ * trips rather than rows. Exceeding any limit fails the test with the list of statements sent.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@ExtendWith(StatementBudgetExtension.class)
+public @interface StatementBudget {
+
+    int select() default 0;
+
+    int insert() default 0;
+
+    int update() default 0;
+
+    int delete() default 0;
+}
@@ -0,0 +1,66 @@
+package com.example.student_teacher.integration;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.BeforeTestExecutionCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+
+import com.example.student_teacher.integration.StatementCounter.Kind;
+
+/**
+ * Enforces {@link StatementBudget}: records statements around the test method and compares the
+ * counts per kind with the declared limits. Tests whose budget depends on their arguments register
+ * it with {@code @RegisterExtension} and call {@link #expect} instead of annotating the method.
+ */
+public class StatementBudgetExtension implements BeforeTestExecutionCallback, AfterTestExecutionCallback {
+
+    private Map<Kind, Integer> expected;
+
+    /** Sets this test's budget; takes the place of a {@link StatementBudget} on the method. */
+    public void expect(int select, int insert, int update, int delete) {
+        expected = limits(select, insert, update, delete);
+    }
+
+    @Override
+    public void beforeTestExecution(ExtensionContext context) {
+        StatementCounter.start();
+    }
+
+    @Override
+    public void afterTestExecution(ExtensionContext context) {
+        List<String> statements = StatementCounter.stop();
+        Map<Kind, Integer> limits = expected;
+        expected = null;
+        StatementBudget budget = context.getRequiredTestMethod().getAnnotation(StatementBudget.class);
+        if (limits == null && budget != null) {
+            limits = limits(budget.select(), budget.insert(), budget.update(), budget.delete());
+        }
+        if (limits == null) {
+            return;
+        }
+
+        Map<Kind, Long> counts = new EnumMap<>(Kind.class);
+        statements.forEach(sql -> counts.merge(Kind.of(sql), 1L, Long::sum));
+        Map<Kind, Integer> allowed = limits;
+        String exceeded = counts.entrySet().stream()
+                .filter(e -> e.getValue() > allowed.get(e.getKey()))
+                .map(e -> e.getKey().name().toLowerCase() + " " + e.getValue() + " > " + allowed.get(e.getKey()))
+                .collect(Collectors.joining(", "));
+        if (!exceeded.isEmpty()) {
+            StringBuilder message = new StringBuilder("SQL statement budget exceeded: " + exceeded);
+            for (int i = 0; i < statements.size(); i++) {
+                message.append(String.format("%n%3d. %s", i + 1, statements.get(i)));
+            }
+            throw new AssertionError(message);
+        }
+    }
+
+    private static Map<Kind, Integer> limits(int select, int insert, int update, int delete) {
+        return Map.of(Kind.SELECT, select, Kind.INSERT, insert, Kind.UPDATE, update, Kind.DELETE, delete,
+                Kind.OTHER, 0);
+    }
+}
@@ -0,0 +1,240 @@
+package com.example.student_teacher.integration;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.authentication;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+import org.hibernate.SessionFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.RequestBuilder;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+import com.example.student_teacher.dto.Account;
+import com.example.student_teacher.entity.Course;
+import com.example.student_teacher.entity.Dept;
+import com.example.student_teacher.entity.Role;
+import com.example.student_teacher.entity.Student;
+import com.example.student_teacher.entity.Teacher;
+import com.example.student_teacher.security.AccountPrincipal;
+import com.example.student_teacher.service.EnrollmentService;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * One request per endpoint of StudentController, TeacherController and WebController, each with a
+ * statement budget enforced by {@link StatementBudgetExtension}. The fixture has several depts, teachers, courses and enrollments, so a
+ * per-row query shows up as a blown budget rather than one extra statement. Budgets are for a cold
+ * second-level cache and a real login principal, and count the request only, not the setup.
+ * Not @Transactional: each request commits on its own, so its writes are flushed and counted.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class StatementBudgetTest {
+
+    private static final int OK = 200;
+    private static final int REDIRECT = 302;
+
+    @RegisterExtension
+    StatementBudgetExtension statementBudget = new StatementBudgetExtension();
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CatalogFixtures fixtures;
+
+    @Autowired
+    private EnrollmentService enrollmentService;
+
+    private Dept cs;
+    private Teacher smith;
+    private Course java;
+    private Course databases;
+    private Course elective;
+    private Student alice;
+
+    @BeforeEach
+    void setUp() {
+        fixtures.deleteAll();
+
+        cs = fixtures.dept("Computer Science");
+        Dept math = fixtures.dept("Mathematics");
+        smith = fixtures.teacher("Dr. Smith", "dr.smith@example.com");
+        Teacher jones = fixtures.teacher("Dr. Jones", "dr.jones@example.com");
+
+        java = fixtures.course("Java Programming", 3, cs, smith);
+        databases = fixtures.course("Databases", 4, cs, smith);
+        Course algebra = fixtures.course("Algebra", 3, math, jones);
+        fixtures.course("Statistics", 2, math, jones);
+        elective = fixtures.course("Compilers", 4, cs, jones);
+
+        alice = fixtures.student("Alice", "alice@example.com", cs);
+        Student bob = fixtures.student("Bob", "bob@example.com", math);
+        Student carol = fixtures.student("Carol", "carol@example.com", cs);
+        for (Course course : new Course[] {java, databases, algebra}) {
+            enrollmentService.enroll(alice.getId(), course.getId());
+            enrollmentService.enroll(carol.getId(), course.getId());
+        }
+        enrollmentService.enroll(bob.getId(), algebra.getId());
+
+        // Budgets assume nothing is cached yet
+        entityManagerFactory.unwrap(SessionFactory.class).getCache().evictAllRegions();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        fixtures.deleteAll();
+    }
+
+    // Endpoint, expected status, most select/insert/update/delete statements, and the request.
+    // ETag and dashboard reads include the catalog version lookup, catalog writes its bump.
+    static Stream<Arguments> endpoints() {
+        return Stream.of(
+                // StudentController
+                endpoint("GET /student/profile", OK, 1, 0, 0, 0,
+                        t -> get("/student/profile").with(as(t.alice))),
+                endpoint("PUT /student/profile", OK, 2, 0, 1, 0,
+                        t -> put("/student/profile").with(as(t.alice)).with(csrf())
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("{\"name\":\"Alice Smith\"}")),
+                endpoint("GET /student/departments", OK, 2, 0, 0, 0,
+                        t -> get("/student/departments").with(as(t.alice))),
+                endpoint("GET /student/courses/search", OK, 0, 0, 0, 0,
+                        t -> get("/student/courses/search").param("q", "prog").with(as(t.alice))),
+                endpoint("POST /student/courses/{id}", OK, 2, 1, 1, 0,
+                        t -> post("/student/courses/" + t.elective.getId()).with(as(t.alice)).with(csrf())),
+                endpoint("DELETE /student/courses/{id}", OK, 0, 0, 1, 1,
+                        t -> delete("/student/courses/" + t.java.getId()).with(as(t.alice)).with(csrf())),
+                endpoint("GET /student/courses/{id}/seats", OK, 2, 0, 0, 0,
+                        t -> get("/student/courses/" + t.java.getId() + "/seats").with(as(t.alice))),
+
+                // TeacherController
+                endpoint("GET /teacher/courses", OK, 2, 0, 0, 0,
+                        t -> get("/teacher/courses").with(as(t.smith))),
+                endpoint("GET /teacher/courses/page", OK, 1, 0, 0, 0,
+                        t -> get("/teacher/courses/page").param("size", "2").with(as(t.smith))),
+                endpoint("GET /teacher/courses/browse", OK, 2, 0, 0, 0,
+                        t -> get("/teacher/courses/browse").param("dept", String.valueOf(t.cs.getId()))
+                                .with(as(t.smith))),
+                endpoint("POST /teacher/courses", OK, 3, 2, 1, 0,
+                        t -> post("/teacher/courses").with(as(t.smith)).with(csrf())
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("{\"title\":\"Operating Systems\",\"credit\":4}")),
+                endpoint("PUT /teacher/courses/{id}", OK, 1, 0, 2, 0,
+                        t -> put("/teacher/courses/" + t.java.getId()).with(as(t.smith)).with(csrf())
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("{\"title\":\"Advanced Java\"}")),
+                endpoint("GET /teacher/courses/{id}/seats", OK, 2, 0, 0, 0,
+                        t -> get("/teacher/courses/" + t.java.getId() + "/seats").with(as(t.smith))),
+                endpoint("DELETE /teacher/courses/{id}", OK, 2, 0, 1, 3,
+                        t -> delete("/teacher/courses/" + t.java.getId()).with(as(t.smith)).with(csrf())),
+                endpoint("GET /teacher/students", OK, 1, 0, 0, 0,
+                        t -> get("/teacher/students").with(as(t.smith))),
+                endpoint("GET /teacher/students/page", OK, 1, 0, 0, 0,
+                        t -> get("/teacher/students/page").param("size", "2").with(as(t.smith))),
+                endpoint("GET /teacher/students/{id}", OK, 2, 0, 0, 0,
+                        t -> get("/teacher/students/" + t.alice.getId()).with(as(t.smith))),
+                endpoint("GET /teacher/workload", OK, 2, 0, 0, 0,
+                        t -> get("/teacher/workload").with(as(t.smith))),
+                endpoint("GET /teacher/profile", OK, 1, 0, 0, 0,
+                        t -> get("/teacher/profile").with(as(t.smith))),
+                endpoint("PUT /teacher/profile", OK, 1, 0, 2, 0,
+                        t -> put("/teacher/profile").with(as(t.smith)).with(csrf())
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("{\"name\":\"Dr. John Smith\"}")),
+                endpoint("GET /teacher/departments", OK, 2, 0, 0, 0,
+                        t -> get("/teacher/departments").with(as(t.smith))),
+                endpoint("POST /teacher/students", OK, 2, 1, 0, 0,
+                        t -> post("/teacher/students").with(as(t.smith)).with(csrf())
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content("{\"name\":\"Dave\",\"email\":\"dave@example.com\",\"password\":\"secret\","
+                                        + "\"dept\":{\"id\":" + t.cs.getId() + "}}")),
+                endpoint("POST /teacher/students/import", OK, 2, 1, 0, 0,
+                        t -> post("/teacher/students/import").with(as(t.smith)).with(csrf())
+                                .contentType("text/csv")
+                                .content("""
+                                        name,email,password
+                                        Ann,ann@example.com,secret
+                                        Bo,bo@example.com,secret
+                                        Cy,cy@example.com,secret
+                                        """)),
+                endpoint("DELETE /teacher/students/{id}", OK, 2, 0, 1, 2,
+                        t -> delete("/teacher/students/" + t.alice.getId()).with(as(t.smith)).with(csrf())),
+
+                // WebController
+                endpoint("GET /login", OK, 0, 0, 0, 0,
+                        t -> get("/login")),
+                endpoint("GET /dashboard", REDIRECT, 0, 0, 0, 0,
+                        t -> get("/dashboard").with(as(t.alice))),
+                endpoint("GET /student/dashboard", OK, 3, 0, 0, 0,
+                        t -> get("/student/dashboard").with(as(t.alice))),
+                endpoint("GET /teacher/dashboard", OK, 2, 0, 0, 0,
+                        t -> get("/teacher/dashboard").with(as(t.smith))),
+                endpoint("POST /teacher/courses/add", REDIRECT, 3, 2, 1, 0,
+                        t -> post("/teacher/courses/add").with(as(t.smith)).with(csrf())
+                                .param("title", "Operating Systems")
+                                .param("credit", "4")),
+                endpoint("POST /student/courses/enroll/{id}", REDIRECT, 2, 1, 1, 0,
+                        t -> post("/student/courses/enroll/" + t.elective.getId()).with(as(t.alice)).with(csrf())),
+                endpoint("POST /student/courses/drop/{id}", REDIRECT, 0, 0, 1, 1,
+                        t -> post("/student/courses/drop/" + t.java.getId()).with(as(t.alice)).with(csrf())),
+                endpoint("POST /teacher/courses/delete/{id}", REDIRECT, 3, 0, 1, 3,
+                        t -> post("/teacher/courses/delete/" + t.databases.getId()).with(as(t.smith))
+                                .with(csrf())));
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("endpoints")
+    void staysWithinBudget(String endpoint, int expectedStatus, int[] budget,
+            Function<StatementBudgetTest, RequestBuilder> request) throws Exception {
+        // Given
+        RequestBuilder builder = request.apply(this);
+        statementBudget.expect(budget[0], budget[1], budget[2], budget[3]);
+
+        // When & Then
+        mockMvc.perform(builder).andExpect(status().is(expectedStatus));
+    }
+
+    private static Arguments endpoint(String endpoint, int expectedStatus, int select, int insert, int update,
+            int delete, Function<StatementBudgetTest, RequestBuilder> request) {
+        return Arguments.of(endpoint, expectedStatus, new int[] {select, insert, update, delete}, request);
+    }
+
+    // The principal a form login leaves behind, carrying the account id
+    private static RequestPostProcessor as(Student student) {
+        return login(new Account(student.getId(), student.getEmail(), student.getPassword(), Role.STUDENT));
+    }
+
+    private static RequestPostProcessor as(Teacher teacher) {
+        return login(new Account(teacher.getId(), teacher.getEmail(), teacher.getPassword(), Role.TEACHER));
+    }
+
+    private static RequestPostProcessor login(Account account) {
+        AccountPrincipal principal = new AccountPrincipal(account);
+        return authentication(UsernamePasswordAuthenticationToken.authenticated(principal, null,
+                principal.getAuthorities()));
+    }
+}
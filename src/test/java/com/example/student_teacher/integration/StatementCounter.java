@@ -0,0 +1,51 @@
+package com.example.student_teacher.integration;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Records the SQL Hibernate prepares on the current thread while recording is on. Registered for
+ * every test context in application-test.yaml; outside {@link #start()}/{@link #stop()} it only
+ * passes statements through. A JDBC batch is prepared once, so it counts as one statement.
+ */
+public class StatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<List<String>> RECORDED = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        List<String> recorded = RECORDED.get();
+        if (recorded != null) {
+            recorded.add(sql);
+        }
+        return sql;
+    }
+
+    static void start() {
+        RECORDED.set(new ArrayList<>());
+    }
+
+    static List<String> stop() {
+        List<String> recorded = RECORDED.get();
+        RECORDED.remove();
+        return recorded == null ? List.of() : recorded;
+    }
+
+    enum Kind {
+        SELECT, INSERT, UPDATE, DELETE, OTHER;
+
+        static Kind of(String sql) {
+            String verb = sql.stripLeading().split("\\s", 2)[0].toLowerCase(Locale.ROOT);
+            return switch (verb) {
+                case "select", "with" -> SELECT;
+                case "insert" -> INSERT;
+                case "update", "merge" -> UPDATE;
+                case "delete" -> DELETE;
+                default -> OTHER;
+            };
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.student_teacher.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import com.example.student_teacher.dto.ImportReport;
+import com.example.student_teacher.dto.ImportRowResult.Status;
+import com.example.student_teacher.repository.StudentRepository;
+import com.example.student_teacher.service.StudentImportService;
+
+// Not @Transactional: each chunk commits or rolls back in its own transaction, as in production
+@SpringBootTest
+@ActiveProfiles("test")
+class StudentImportIsolationTest {
+
+    @Autowired
+    private StudentImportService importService;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @BeforeEach
+    void setUp() {
+        // Clean up
+        studentRepository.deleteAll();
+    }
+
+    @Test
+    void testFailingRowDoesNotFailItsChunk() throws Exception {
+        // Given - a name longer than the column passes validation but fails on insert
+        String csv = "name,email,password\n"
+                + "Ann,ann@example.com,secret\n"
+                + "Bo,bo@example.com,secret\n"
+                + "x".repeat(300) + ",long@example.com,secret\n"
+                + "Cy,cy@example.com,secret\n"
+                + "Di,di@example.com,secret\n";
+
+        // When
+        ImportReport report = importService.importCsv(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+
+        // Then
+        assertThat(report.created()).isEqualTo(4);
+        assertThat(report.failed()).isEqualTo(1);
+        assertThat(report.rows()).singleElement()
+                .satisfies(row -> assertThat(row.row()).isEqualTo(3))
+                .satisfies(row -> assertThat(row.status()).isEqualTo(Status.FAILED))
+                .satisfies(row -> assertThat(row.message()).isNotBlank());
+        assertThat(studentRepository.findExistingEmails(
+                List.of("ann@example.com", "bo@example.com", "cy@example.com", "di@example.com",
+                        "long@example.com")))
+                .containsExactlyInAnyOrder("ann@example.com", "bo@example.com", "cy@example.com", "di@example.com");
+    }
+}
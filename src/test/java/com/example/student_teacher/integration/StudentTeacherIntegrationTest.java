@@ -2,7 +2,9 @@ package com.example.student_teacher.integration;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestBuilders.formLogin;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.security.test.web.servlet.response.SecurityMockMvcResultMatchers.authenticated;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
@@ -15,6 +17,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
@@ -125,6 +128,22 @@ class StudentTeacherIntegrationTest {
         assertThat(dbStudent.getName()).isEqualTo("Jane Doe");
     }
 
+    @Test
+    void testTeacherLoginUpgradesLegacyHash() throws Exception {
+        // Given - a hash from before the {bcrypt} prefix, at a lower cost
+        teacher.setPassword(new BCryptPasswordEncoder(4).encode("legacy-password"));
+        teacherRepository.saveAndFlush(teacher);
+
+        // When
+        mockMvc.perform(formLogin().user(teacher.getEmail()).password("legacy-password"))
+                .andExpect(authenticated().withRoles("TEACHER"));
+
+        // Then
+        Teacher dbTeacher = teacherRepository.findByEmail(teacher.getEmail()).orElseThrow();
+        assertThat(dbTeacher.getPassword()).startsWith("{bcrypt}");
+        assertThat(passwordEncoder.matches("legacy-password", dbTeacher.getPassword())).isTrue();
+    }
+
     @Test
     void testStudentCanEnrollInCourse() throws Exception {
         mockMvc.perform(post("/student/courses/" + course.getId())
@@ -0,0 +1,201 @@
+package com.example.student_teacher.integration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.example.student_teacher.StudentTeacherApplication;
+import com.example.student_teacher.entity.Course;
+import com.example.student_teacher.entity.Student;
+import com.example.student_teacher.entity.Teacher;
+import com.example.student_teacher.repository.CourseRepository;
+import com.example.student_teacher.repository.CourseSeatRepository;
+import com.example.student_teacher.repository.DeptRepository;
+import com.example.student_teacher.repository.StudentRepository;
+import com.example.student_teacher.repository.TeacherRepository;
+
+/**
+ * Drives the student dashboard and enroll/drop flows with many concurrent logged-in clients, once
+ * on Tomcat's platform thread pool and once on virtual threads, and prints throughput and latency
+ * percentiles for each. Excluded from the default build; run it with {@code mvn test -Pbenchmark}.
+ * Tune with -Dbench.clients, -Dbench.warmup-seconds, -Dbench.seconds and -Dbench.pool-size.
+ */
+@Tag("benchmark")
+class ThreadModelBenchmarkTest {
+
+    private static final int CLIENTS = Integer.getInteger("bench.clients", 400);
+    private static final int WARMUP_SECONDS = Integer.getInteger("bench.warmup-seconds", 5);
+    private static final int SECONDS = Integer.getInteger("bench.seconds", 20);
+    private static final int POOL_SIZE = Integer.getInteger("bench.pool-size", 10);
+    private static final int STUDENTS = 2_000;
+    private static final int COURSES = 100;
+
+    private final HttpClient http = HttpClient.newBuilder()
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+
+    @Test
+    void comparePlatformAndVirtualThreads() throws Exception {
+        LatencyRecorder platform = run(false);
+        LatencyRecorder virtual = run(true);
+
+        System.out.println();
+        System.out.printf("Thread model benchmark: %d clients, %d s, pool size %d%n", CLIENTS, SECONDS, POOL_SIZE);
+        platform.print("platform", SECONDS);
+        virtual.print("virtual", SECONDS);
+
+        assertThat(platform.errors.get()).isZero();
+        assertThat(virtual.errors.get()).isZero();
+    }
+
+    private LatencyRecorder run(boolean virtualThreads) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(StudentTeacherApplication.class)
+                .profiles("test")
+                .properties(
+                        "server.port=0",
+                        "spring.threads.virtual.enabled=" + virtualThreads,
+                        "spring.datasource.url=jdbc:h2:mem:bench-" + (virtualThreads ? "virtual" : "platform"),
+                        "spring.datasource.hikari.maximum-pool-size=" + POOL_SIZE,
+                        "spring.jpa.show-sql=false",
+                        "logging.level.root=WARN")
+                .run()) {
+            List<Long> courseIds = seed(context);
+            int port = ((ServletWebServerApplicationContext) context).getWebServer().getPort();
+            return load("http://localhost:" + port, courseIds);
+        }
+    }
+
+    private List<Long> seed(ConfigurableApplicationContext context) {
+        StudentRepository studentRepository = context.getBean(StudentRepository.class);
+        CourseRepository courseRepository = context.getBean(CourseRepository.class);
+        studentRepository.deleteAll();
+        context.getBean(CourseSeatRepository.class).deleteAll();
+        courseRepository.deleteAll();
+        context.getBean(TeacherRepository.class).deleteAll();
+        context.getBean(DeptRepository.class).deleteAll();
+
+        String hash = context.getBean(PasswordEncoder.class).encode("password123");
+        Teacher teacher = new Teacher();
+        teacher.setName("Bench Teacher");
+        teacher.setEmail("teacher@bench.test");
+        teacher.setPassword(hash);
+        teacher = context.getBean(TeacherRepository.class).save(teacher);
+
+        List<Course> courses = new ArrayList<>();
+        for (int i = 0; i < COURSES; i++) {
+            Course course = new Course();
+            course.setTitle("Course " + i);
+            course.setCredit(1 + i % 4);
+            course.setTeacher(teacher);
+            courses.add(course);
+        }
+        List<Long> courseIds = courseRepository.saveAll(courses).stream().map(Course::getId).toList();
+
+        List<Student> students = new ArrayList<>();
+        for (int i = 0; i < STUDENTS; i++) {
+            Student student = new Student();
+            student.setName("Student " + i);
+            student.setEmail("student" + i + "@bench.test");
+            student.setPassword(hash);
+            students.add(student);
+        }
+        studentRepository.saveAll(students);
+        return courseIds;
+    }
+
+    private LatencyRecorder load(String baseUrl, List<Long> courseIds) throws Exception {
+        // Requests made while the JIT and caches warm up are not recorded
+        LatencyRecorder result = new LatencyRecorder(
+                System.nanoTime() + Duration.ofSeconds(WARMUP_SECONDS).toNanos());
+        long deadline = result.recordFrom + Duration.ofSeconds(SECONDS).toNanos();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < CLIENTS; c++) {
+                String email = "student" + (c % STUDENTS) + "@bench.test";
+                clients.submit(() -> session(baseUrl, email, courseIds, deadline, result));
+            }
+        }
+        return result;
+    }
+
+    // One logged-in student: dashboard, enroll, dashboard, drop, until the deadline
+    private Void session(String baseUrl, String email, List<Long> courseIds, long deadline,
+            LatencyRecorder result) {
+        try {
+            String cookie = login(baseUrl, email, result);
+            while (System.nanoTime() < deadline) {
+                long courseId = courseIds.get(ThreadLocalRandom.current().nextInt(courseIds.size()));
+                send(result, "dashboard", get(baseUrl + "/student/dashboard", cookie), 200);
+                send(result, "enroll", post(baseUrl + "/student/courses/enroll/" + courseId, cookie, ""), 302);
+                send(result, "dashboard", get(baseUrl + "/student/dashboard", cookie), 200);
+                send(result, "drop", post(baseUrl + "/student/courses/drop/" + courseId, cookie, ""), 302);
+            }
+        } catch (Exception e) {
+            result.errors.incrementAndGet();
+        }
+        return null;
+    }
+
+    // A saturated hashing pool turns logins away (redirect to /login?error); back off and try again
+    private String login(String baseUrl, String email, LatencyRecorder result) throws Exception {
+        String form = "username=" + URLEncoder.encode(email, StandardCharsets.UTF_8) + "&password=password123";
+        for (int attempt = 0; attempt < 50; attempt++) {
+            long start = System.nanoTime();
+            HttpResponse<Void> response = http.send(post(baseUrl + "/login", null, form),
+                    HttpResponse.BodyHandlers.discarding());
+            result.record("login", System.nanoTime() - start);
+            if (response.headers().firstValue("Location").orElse("").endsWith("/dashboard")) {
+                return response.headers().allValues("Set-Cookie").stream()
+                        .filter(c -> c.startsWith("JSESSIONID="))
+                        .map(c -> c.substring(0, c.indexOf(';')))
+                        .findFirst()
+                        .orElseThrow();
+            }
+            result.loginRetries.incrementAndGet();
+            Thread.sleep(ThreadLocalRandom.current().nextLong(50, 200));
+        }
+        throw new IllegalStateException("Login kept failing for " + email);
+    }
+
+    private void send(LatencyRecorder result, String endpoint, HttpRequest request, int expectedStatus)
+            throws Exception {
+        long start = System.nanoTime();
+        HttpResponse<Void> response = http.send(request, HttpResponse.BodyHandlers.discarding());
+        result.record(endpoint, System.nanoTime() - start);
+        if (response.statusCode() != expectedStatus) {
+            result.errors.incrementAndGet();
+        }
+    }
+
+    private static HttpRequest get(String url, String cookie) {
+        return HttpRequest.newBuilder(URI.create(url)).header("Cookie", cookie).GET().build();
+    }
+
+    private static HttpRequest post(String url, String cookie, String form) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(url))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(form));
+        if (cookie != null) {
+            builder.header("Cookie", cookie);
+        }
+        return builder.build();
+    }
+}
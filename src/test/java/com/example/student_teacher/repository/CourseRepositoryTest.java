@@ -9,17 +9,31 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.test.context.ActiveProfiles;
 
+import com.example.student_teacher.dto.CourseFilter;
+import com.example.student_teacher.dto.CourseView;
+import com.example.student_teacher.dto.FacetCount;
 import com.example.student_teacher.entity.Course;
+import com.example.student_teacher.entity.Dept;
+import com.example.student_teacher.entity.Teacher;
+import com.example.student_teacher.integration.CatalogFixtures;
 
 @DataJpaTest
 @ActiveProfiles("test")
+@Import(CatalogFixtures.class)
 class CourseRepositoryTest {
 
     @Autowired
     private CourseRepository courseRepository;
 
+    @Autowired
+    private TeacherRepository teacherRepository;
+
+    @Autowired
+    private CatalogFixtures fixtures;
+
     private Course course;
 
     @BeforeEach
@@ -83,4 +97,37 @@ class CourseRepositoryTest {
         Optional<Course> deletedCourse = courseRepository.findById(courseId);
         assertThat(deletedCourse).isEmpty();
     }
+
+    @Test
+    void testFilteredPageAndFacetCounts() {
+        // Given - the seeded teacher holds an id the sequence is about to hand out
+        teacherRepository.deleteAll();
+        Dept cs = fixtures.dept("Computer Science");
+        Dept math = fixtures.dept("Mathematics");
+        Teacher smith = fixtures.teacher("Dr. Smith", "dr.smith@example.com");
+        Teacher jones = fixtures.teacher("Dr. Jones", "dr.jones@example.com");
+        Course java = fixtures.course("Java", 3, cs, smith);
+        fixtures.course("Compilers", 4, cs, jones);
+        Course algebra = fixtures.course("Algebra", 3, math, smith);
+        fixtures.course("Seminar", 1, math, jones);
+
+        // When
+        CourseFilter filter = new CourseFilter(null, 2, 3, smith.getId());
+        List<CourseView> page = courseRepository.findFilteredPage(filter, 0, 10);
+        List<FacetCount> facets = courseRepository.findFacetCounts(filter);
+
+        // Then - each facet ignores its own filter but applies the others; Dr. Jones has no 2-3 credit course
+        assertThat(page).extracting(CourseView::id).containsExactly(java.getId(), algebra.getId());
+        assertThat(page.get(0).teacher().name()).isEqualTo("Dr. Smith");
+        assertThat(page.get(0).dept().name()).isEqualTo("Computer Science");
+        assertThat(courseRepository.findFilteredPage(filter, java.getId(), 10))
+                .extracting(CourseView::id).containsExactly(algebra.getId());
+
+        assertThat(facets).containsExactlyInAnyOrder(
+                new FacetCount("dept", cs.getId(), "Computer Science", 1),
+                new FacetCount("dept", math.getId(), "Mathematics", 1),
+                new FacetCount("credit", 3L, null, 2),
+                new FacetCount("teacher", smith.getId(), "Dr. Smith", 2));
+    }
+
 }
@@ -2,6 +2,7 @@ package com.example.student_teacher.repository;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.util.List;
 import java.util.Optional;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -10,9 +11,12 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.test.context.ActiveProfiles;
 
+import com.example.student_teacher.dto.Account;
+import com.example.student_teacher.dto.StudentView;
 import com.example.student_teacher.entity.Dept;
 import com.example.student_teacher.entity.Role;
 import com.example.student_teacher.entity.Student;
+import com.example.student_teacher.entity.Teacher;
 
 
 @DataJpaTest
@@ -25,6 +29,9 @@ class StudentRepositoryTest {
     @Autowired
     private DeptRepository deptRepository;
 
+    @Autowired
+    private TeacherRepository teacherRepository;
+
     private Student student;
     private Dept dept;
 
@@ -77,6 +84,28 @@ class StudentRepositoryTest {
         assertThat(foundStudent).isEmpty();
     }
 
+    @Test
+    void testFindAccountByEmail() {
+        // Given
+        Student savedStudent = studentRepository.save(student);
+        Teacher teacher = new Teacher();
+        teacher.setName("Dr. Smith");
+        teacher.setEmail("dr.smith@example.com");
+        teacher.setPassword("password123");
+        teacher = teacherRepository.save(teacher);
+
+        // When
+        Optional<Account> studentAccount = studentRepository.findAccountByEmail("john.doe@example.com");
+        Optional<Account> teacherAccount = studentRepository.findAccountByEmail("dr.smith@example.com");
+
+        // Then
+        assertThat(studentAccount).contains(
+                new Account(savedStudent.getId(), "john.doe@example.com", "password123", Role.STUDENT));
+        assertThat(teacherAccount).contains(
+                new Account(teacher.getId(), "dr.smith@example.com", "password123", Role.TEACHER));
+        assertThat(studentRepository.findAccountByEmail("nonexistent@example.com")).isEmpty();
+    }
+
     @Test
     void testDeleteStudent() {
         // Given
@@ -124,4 +153,27 @@ class StudentRepositoryTest {
         assertThat(savedStudent.getDept()).isNotNull();
         assertThat(savedStudent.getDept().getName()).isEqualTo("Computer Science");
     }
+
+    @Test
+    void testFindRosterPage() {
+        // Given
+        for (String name : List.of("Alice", "Albert", "Bob")) {
+            Student s = new Student();
+            s.setName(name);
+            s.setEmail(name.toLowerCase() + "@example.com");
+            s.setPassword("password123");
+            s.setDept(dept);
+            studentRepository.save(s);
+        }
+
+        // When
+        List<StudentView> firstPage = studentRepository.findRosterPage(0L, dept.getId(), null, 2);
+        List<StudentView> secondPage = studentRepository.findRosterPage(firstPage.get(1).id(), dept.getId(), null, 2);
+        List<StudentView> filtered = studentRepository.findRosterPage(0L, dept.getId(), "al", 10);
+
+        // Then
+        assertThat(firstPage).extracting(StudentView::name).containsExactly("Alice", "Albert");
+        assertThat(secondPage).extracting(StudentView::name).containsExactly("Bob");
+        assertThat(filtered).extracting(StudentView::name).containsExactly("Alice", "Albert");
+    }
 }
@@ -0,0 +1,25 @@
+-- What the application built with ddl-auto: update before Flyway took over (H2 dialect), plus a
+-- few rows, for LegacySchemaUpgradeTest
+create sequence course_seq start with 1 increment by 50;
+create sequence dept_seq start with 1 increment by 50;
+create sequence student_seq start with 1 increment by 50;
+create sequence teacher_seq start with 1 increment by 50;
+create table course (credit integer not null, dept_id bigint, id bigint not null, teacher_id bigint, title varchar(255), primary key (id));
+create table dept (id bigint not null, name varchar(255), primary key (id));
+create table student (dept_id bigint, id bigint not null, email varchar(255) unique, name varchar(255), password varchar(255), role varchar(255) check (role in ('STUDENT','TEACHER')), primary key (id));
+create table student_courses (course_id bigint not null, student_id bigint not null, primary key (course_id, student_id));
+create table teacher (id bigint not null, email varchar(255) unique, name varchar(255), password varchar(255), role varchar(255) check (role in ('STUDENT','TEACHER')), primary key (id));
+alter table if exists course add constraint FK7qu5e9an54sah68jn72ehg712 foreign key (dept_id) references dept;
+alter table if exists course add constraint FKsybhlxoejr4j3teomm5u2bx1n foreign key (teacher_id) references teacher;
+alter table if exists student add constraint FK51vi5k0vbdvve6mrxlme8x0vo foreign key (dept_id) references dept;
+alter table if exists student_courses add constraint FKc614in0kdhj9sih7vw304qxgj foreign key (course_id) references course;
+alter table if exists student_courses add constraint FKiqufqwgb6im4n8xslhjvxmt0n foreign key (student_id) references student;
+
+insert into dept (id, name) values (100, 'Physics');
+insert into teacher (id, email, name, password, role) values (100, 'legacy.teacher@example.com', 'Legacy Teacher', 'secret', 'TEACHER');
+insert into course (id, title, credit, teacher_id, dept_id) values (100, 'Optics', 3, 100, 100);
+insert into course (id, title, credit, teacher_id, dept_id) values (101, 'Acoustics', 2, 100, 100);
+insert into student (id, email, name, password, role, dept_id) values (100, 'legacy.a@example.com', 'Legacy A', 'secret', 'STUDENT', 100);
+insert into student (id, email, name, password, role, dept_id) values (101, 'legacy.b@example.com', 'Legacy B', 'secret', 'STUDENT', 100);
+insert into student_courses (course_id, student_id) values (100, 100);
+insert into student_courses (course_id, student_id) values (100, 101);
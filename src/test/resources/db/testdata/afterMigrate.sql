@@ -0,0 +1,15 @@
+-- Accounts every test context starts with. Flyway runs this after each migrate, and test contexts
+-- can share one in-memory database, so rows that are already there are left alone.
+
+-- Student
+INSERT INTO student (id, name, email, password, role)
+SELECT 1, 'Student One', 'student@mail.com',
+       '$2a$10$7QZkQw1fN8pQqJt6YvZKRe6kF2u3W6YjE0OQ8U5s9E6p5ZkX0nM1G', 'STUDENT'
+WHERE NOT EXISTS (SELECT 1 FROM student WHERE id = 1 OR email = 'student@mail.com');
+
+-- Teacher
+INSERT INTO teacher (id, name, email, password, role)
+SELECT 1, 'Teacher One', 'teacher@mail.com',
+       '$2a$10$7QZkQw1fN8pQqJt6YvZKRe6kF2u3W6YjE0OQ8U5s9E6p5ZkX0nM1G', 'TEACHER'
+WHERE NOT EXISTS (SELECT 1 FROM teacher WHERE id = 1 OR email = 'teacher@mail.com');
+-- pas: 1234
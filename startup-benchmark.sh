@@ -0,0 +1,44 @@
+#!/bin/sh
+# Time from JVM launch to the first 200 from /login, for the plain fat jar and for the fast-start
+# layout (AOT + CDS archive + deferred JPA bootstrap). Needs the database: docker compose up -d postgres
+#
+#   ./startup-benchmark.sh [runs]
+set -e
+
+RUNS=${1:-5}
+PORT=${PORT:-8080}
+DB_URL=${DB_URL:-jdbc:postgresql://localhost:5432/university}
+# A fixed cost keeps BCrypt calibration out of both measurements
+APP_ARGS="--server.port=$PORT --spring.datasource.url=$DB_URL --app.security.bcrypt.strength=10"
+
+sh mvnw -B -q -Pfast-start -DskipTests package
+
+# Training run for the archive, with the same JVM that is measured below
+(cd target/fast-start && java -XX:ArchiveClassesAtExit=app.jsa -Dspring.aot.enabled=true \
+    -Dspring.context.exit=onRefresh -jar student_teacher-fast-start.jar $APP_ARGS > /dev/null)
+
+now_ms() {
+    echo $(($(date +%s%N) / 1000000))
+}
+
+# Prints milliseconds until /login answers 200, then stops the app
+measure() {
+    start=$(now_ms)
+    "$@" $APP_ARGS > /dev/null 2>&1 &
+    pid=$!
+    until [ "$(curl -s -o /dev/null -w '%{http_code}' "http://localhost:$PORT/login")" = "200" ]; do
+        kill -0 $pid 2> /dev/null || { echo "app exited before serving" >&2; exit 1; }
+        sleep 0.05
+    done
+    echo $(($(now_ms) - start))
+    kill $pid
+    wait $pid 2> /dev/null || true
+}
+
+for i in $(seq "$RUNS"); do
+    baseline=$(measure java -jar target/student_teacher-0.0.1-SNAPSHOT.jar \
+        --spring.data.jpa.repositories.bootstrap-mode=default)
+    fast=$(cd target/fast-start && measure java -XX:SharedArchiveFile=app.jsa -Dspring.aot.enabled=true \
+        -jar student_teacher-fast-start.jar)
+    echo "run $i: baseline ${baseline} ms, fast-start ${fast} ms"
+done